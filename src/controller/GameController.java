@@ -1,8 +1,12 @@
 package controller;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.swing.SwingUtilities;
 import model.Board;
 import model.Move;
 import model.ai.ChessAI;
+import model.ai.SearchResult;
 import model.commands.CommandHistory;
 import model.commands.MoveCommand;
 import view.GameView;
@@ -15,6 +19,7 @@ public class GameController {
     private ChessAI ai;
     private CommandHistory commandHistory;
     private GameView view;
+    private CompletableFuture<SearchResult> pendingAIMove; // การคิดของ AI ที่ยังไม่เสร็จ หรือ null
     
     /**
      * สร้าง GameController ใหม่
@@ -39,6 +44,8 @@ public class GameController {
      * เริ่มเกมใหม่
      */
     public void newGame() {
+        cancelAIMove();
+        ai.stopPondering();
         board = new Board();
         commandHistory.clear();
     }
@@ -58,17 +65,54 @@ public class GameController {
     }
     
     /**
-     * ให้ AI ทำการเคลื่อนที่
-     * @return true ถ้าสำเร็จ, false ถ้าไม่สำเร็จ
+     * ให้ AI คิดในเธรดของ AI โดยไม่บล็อก EDT แล้วเดินบน EDT เมื่อคิดเสร็จ
+     * หลังจากเดินแล้วจะเริ่มคิดล่วงหน้าระหว่างตาของผู้เล่น (ถ้าเปิดการ ponder ไว้)
+     * ต้องเรียกจาก EDT
+     * @return ผลที่จะได้ true เมื่อ AI เดินสำเร็จ, false ถ้าไม่สำเร็จ ถูกยกเลิก หรือกระดานเปลี่ยนไประหว่างที่คิด
+     *         (ล้มเหลวด้วยข้อผิดพลาดของการค้นหา ถ้าการค้นหาผิดพลาด)
      */
-    public boolean makeAIMove() {
-        Move move = ai.findBestMove(board);
-        if (move == null) {
+    public CompletableFuture<Boolean> makeAIMove() {
+        cancelAIMove();
+        Board searchBoard = board;
+        long key = board.getHash();
+        CompletableFuture<SearchResult> search = ai.search(board);
+        pendingAIMove = search;
+        return search.handleAsync((result, error) -> {
+            // ผลของการคิดที่ถูกยกเลิกหรือถูกแทนที่ไปแล้ว ไม่ใช้
+            if (pendingAIMove != search) {
+                return false;
+            }
+            pendingAIMove = null;
+            if (error != null) {
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            }
+            
+            // ผลของกระดานที่เปลี่ยนไปแล้ว ไม่ใช้
+            Move move = result.getBestMove();
+            if (board != searchBoard || board.getHash() != key || move == null) {
+                return false;
+            }
+            
+            MoveCommand command = new MoveCommand(board, move);
+            boolean success = commandHistory.executeCommand(command);
+            if (success) {
+                ai.startPondering(board);
+            }
+            return success;
+        }, SwingUtilities::invokeLater);
+    }
+    
+    /**
+     * ยกเลิกการคิดของ AI ที่ยังไม่เสร็จ (เช่น ตอนย้อนกลับหรือเริ่มเกมใหม่)
+     * @return true ถ้ามีการคิดที่ถูกยกเลิก, false ถ้าไม่มี
+     */
+    public boolean cancelAIMove() {
+        if (pendingAIMove == null) {
             return false;
         }
-        
-        MoveCommand command = new MoveCommand(board, move);
-        return commandHistory.executeCommand(command);
+        pendingAIMove.cancel(false);
+        pendingAIMove = null;
+        return true;
     }
     
     /**
@@ -76,6 +120,7 @@ public class GameController {
      * @return true ถ้าสำเร็จ, false ถ้าไม่สำเร็จ
      */
     public boolean undoMove() {
+        ai.stopPondering();
         return commandHistory.undo();
     }
     
@@ -84,6 +129,7 @@ public class GameController {
      * @return true ถ้าสำเร็จ, false ถ้าไม่สำเร็จ
      */
     public boolean redoMove() {
+        ai.stopPondering();
         return commandHistory.redo();
     }
 }
@@ -2,10 +2,18 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
+import model.bitboard.BitboardPosition;
+import model.bitboard.LegalMoveGenerator;
+import model.bitboard.MoveEncoding;
+import model.bitboard.MoveGenerator;
+import model.bitboard.MoveList;
+import model.bitboard.Zobrist;
 import model.pieces.Piece;
 import model.pieces.PieceFactory;
+import model.pieces.PieceType;
 import model.rules.MoveValidator;
 import model.rules.CheckDetector;
+import model.rules.CountingRules;
 import model.events.GameEvent;
 import model.events.GameListener;
 
@@ -14,25 +22,34 @@ import model.events.GameListener;
  * จัดการสถานะของกระดาน การเคลื่อนที่ของหมาก และกฎต่างๆ
  */
 public class Board extends BoardAbstract {
-    private Piece[][] board; // กระดาน 8x8
+    private BitboardPosition position; // ตำแหน่งหมากแบบบิตบอร์ดและ byte[64] (สถานะจริงของกระดาน)
     private boolean isWhiteTurn; // ขาว = ผู้เล่น, ดำ = คอมพิวเตอร์
     private MoveValidator moveValidator;
     private CheckDetector checkDetector;
     private List<GameListener> listeners;
     private List<Move> moveHistory;
     private int movesSinceCapture; // จำนวนตาที่ไม่มีการกินหมาก (สำหรับกฎการนับครบ)
+    private MoveList moveBuffer; // บัฟเฟอร์สำหรับ generateLegalMoves()
+    private StateStack stateStack; // สถานะที่ย้อนกลับไม่ได้ของแต่ละการเคลื่อนที่
+    private long[] keyHistory; // วงแหวนของ hash ทุกตำแหน่งตั้งแต่เริ่มเกม (สำหรับตรวจตำแหน่งซ้ำ)
+    private int historySize; // จำนวนตำแหน่งที่บันทึกไว้ (ตำแหน่งปัจจุบันอยู่ที่ historySize - 1)
+    
+    private static final int KEY_HISTORY_SIZE = 1024; // ต้องเป็นกำลังของสอง และมากกว่าการนับครบมาก
     
     /**
      * สร้างกระดานใหม่
      */
     public Board() {
-        board = new Piece[8][8];
+        position = new BitboardPosition();
         isWhiteTurn = true;
         moveValidator = new MoveValidator(this);
         checkDetector = new CheckDetector(this);
         listeners = new ArrayList<>();
         moveHistory = new ArrayList<>();
         movesSinceCapture = 0;
+        moveBuffer = new MoveList();
+        stateStack = new StateStack();
+        keyHistory = new long[KEY_HISTORY_SIZE];
         initializeBoard();
     }
     
@@ -41,62 +58,86 @@ public class Board extends BoardAbstract {
      */
     private void initializeBoard() {
         // ล้างกระดาน
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                board[i][j] = null;
-            }
-        }
+        position.clear();
         
         // ฝั่งขาว (ผู้เล่น) อยู่ด้านล่าง (แถว 7-5)
-        board[7][0] = PieceFactory.createPiece('r', 7, 0); // เม็ด
-        board[7][1] = PieceFactory.createPiece('n', 7, 1); // ม้า
-        board[7][2] = PieceFactory.createPiece('b', 7, 2); // โคน
-        board[7][3] = PieceFactory.createPiece('q', 7, 3); // เรือ
-        board[7][4] = PieceFactory.createPiece('k', 7, 4); // ขุน
-        board[7][5] = PieceFactory.createPiece('b', 7, 5); // โคน
-        board[7][6] = PieceFactory.createPiece('n', 7, 6); // ม้า
-        board[7][7] = PieceFactory.createPiece('r', 7, 7); // เม็ด
+        placePiece('r', 7, 0); // เม็ด
+        placePiece('n', 7, 1); // ม้า
+        placePiece('b', 7, 2); // โคน
+        placePiece('q', 7, 3); // เรือ
+        placePiece('k', 7, 4); // ขุน
+        placePiece('b', 7, 5); // โคน
+        placePiece('n', 7, 6); // ม้า
+        placePiece('r', 7, 7); // เม็ด
         
         for (int i = 0; i < 8; i++) {
-            board[6][i] = PieceFactory.createPiece('p', 6, i); // เบี้ย
+            placePiece('p', 6, i); // เบี้ย
         }
         
         // ฝั่งดำ (คอมพิวเตอร์) อยู่ด้านบน (แถว 0-2)
-        board[0][0] = PieceFactory.createPiece('R', 0, 0); // เม็ด
-        board[0][1] = PieceFactory.createPiece('N', 0, 1); // ม้า
-        board[0][2] = PieceFactory.createPiece('B', 0, 2); // โคน
-        board[0][3] = PieceFactory.createPiece('Q', 0, 3); // เรือ
-        board[0][4] = PieceFactory.createPiece('K', 0, 4); // ขุน
-        board[0][5] = PieceFactory.createPiece('B', 0, 5); // โคน
-        board[0][6] = PieceFactory.createPiece('N', 0, 6); // ม้า
-        board[0][7] = PieceFactory.createPiece('R', 0, 7); // เม็ด
+        placePiece('R', 0, 0); // เม็ด
+        placePiece('N', 0, 1); // ม้า
+        placePiece('B', 0, 2); // โคน
+        placePiece('Q', 0, 3); // เรือ
+        placePiece('K', 0, 4); // ขุน
+        placePiece('B', 0, 5); // โคน
+        placePiece('N', 0, 6); // ม้า
+        placePiece('R', 0, 7); // เม็ด
         
         for (int i = 0; i < 8; i++) {
-            board[1][i] = PieceFactory.createPiece('P', 1, i); // เบี้ย
+            placePiece('P', 1, i); // เบี้ย
         }
         
         // รีเซ็ตตัวแปรอื่นๆ
         isWhiteTurn = true;
         moveHistory.clear();
+        stateStack.clear();
         movesSinceCapture = 0;
+        historySize = 0;
+        pushKey();
         
         // แจ้งเตือนผู้ฟัง
         notifyBoardChanged();
     }
     
+    /**
+     * วางหมากตามสัญลักษณ์ลงบนกระดาน
+     */
+    private void placePiece(char symbol, int row, int col) {
+        position.put(BitboardPosition.square(row, col), Character.isLowerCase(symbol),
+                     BitboardPosition.typeOf(symbol));
+    }
+    
     /**
      * รับหมากที่ตำแหน่งที่กำหนด
+     * หมากที่ได้เป็นออบเจ็กต์ตัวแทน (adapter) ที่สร้างจากรหัสหมากบนกระดาน การแก้ไขออบเจ็กต์ไม่มีผลกับกระดาน
      * @param row แถว
      * @param col คอลัมน์
      * @return หมากที่ตำแหน่งที่กำหนด หรือ null ถ้าไม่มีหมาก
      */
     public Piece getPiece(int row, int col) {
         if (isValidPosition(row, col)) {
-            return board[row][col];
+            byte piece = position.getPiece(BitboardPosition.square(row, col));
+            if (piece != BitboardPosition.EMPTY) {
+                return PieceFactory.createPiece(symbolOf(piece), row, col);
+            }
         }
         return null;
     }
     
+    /**
+     * รับรหัสหมากแบบ byte ที่ตำแหน่งที่กำหนด (ไม่สร้างออบเจ็กต์)
+     * @param row แถว
+     * @param col คอลัมน์
+     * @return รหัสหมาก หรือ BitboardPosition.EMPTY ถ้าไม่มีหมาก
+     */
+    public byte getPieceCode(int row, int col) {
+        if (isValidPosition(row, col)) {
+            return position.getPiece(BitboardPosition.square(row, col));
+        }
+        return BitboardPosition.EMPTY;
+    }
+    
     /**
      * ตั้งค่าหมากที่ตำแหน่งที่กำหนด
      * @param row แถว
@@ -106,7 +147,11 @@ public class Board extends BoardAbstract {
     @Override
     public void setPiece(int row, int col, Piece piece) {
         if (isValidPosition(row, col)) {
-            board[row][col] = piece;
+            int square = BitboardPosition.square(row, col);
+            position.remove(square);
+            if (piece != null) {
+                position.put(square, piece.getCode());
+            }
         }
     }
     
@@ -117,7 +162,7 @@ public class Board extends BoardAbstract {
      * @return true ถ้าตำแหน่งว่าง, false ถ้าไม่ว่าง
      */
     public boolean isEmpty(int row, int col) {
-        return getPiece(row, col) == null;
+        return !isValidPosition(row, col) || position.isEmpty(BitboardPosition.square(row, col));
     }
     
     /**
@@ -128,8 +173,7 @@ public class Board extends BoardAbstract {
      * @return true ถ้าตำแหน่งมีหมากของฝ่ายตรงข้าม, false ถ้าไม่มี
      */
     public boolean isEnemy(int row, int col, boolean isWhite) {
-        Piece piece = getPiece(row, col);
-        return piece != null && piece.isWhite() != isWhite;
+        return isValidPosition(row, col) && position.isOccupiedBy(BitboardPosition.square(row, col), !isWhite);
     }
     
     /**
@@ -142,6 +186,41 @@ public class Board extends BoardAbstract {
         return row >= 0 && row < 8 && col >= 0 && col < 8;
     }
     
+    /**
+     * รับช่องของขุนฝ่ายที่กำหนด (ติดตามไว้ระหว่างการเคลื่อนที่ ไม่ต้องค้นหาบนกระดาน)
+     * @param isWhite true ถ้าเป็นฝ่ายขาว, false ถ้าเป็นฝ่ายดำ
+     * @return ช่องของขุน (row * 8 + col) หรือ -1 ถ้าไม่มีขุน
+     */
+    public int getKingSquare(boolean isWhite) {
+        return position.getKingSquare(isWhite);
+    }
+    
+    /**
+     * ตรวจสอบว่าช่องที่กำหนดถูกหมากของฝ่ายที่กำหนดโจมตีหรือไม่
+     * @param square ช่อง (row * 8 + col)
+     * @param byWhite true ถ้าผู้โจมตีเป็นฝ่ายขาว, false ถ้าเป็นฝ่ายดำ
+     * @return true ถ้าถูกโจมตี, false ถ้าไม่ถูกโจมตี
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        return position.isSquareAttacked(square, byWhite);
+    }
+    
+    /**
+     * รับ Zobrist hash ของตำแหน่งปัจจุบัน ครอบคลุมหมากบนแต่ละช่อง ฝ่ายที่จะเดิน และสถานะของกฎการนับ
+     * ส่วนของหมากถูกอัปเดตทีละช่องระหว่างการเคลื่อนที่ จึงไม่ต้องคำนวณใหม่ทั้งกระดาน
+     * @return ค่า hash
+     */
+    public long getHash() {
+        long hash = position.getHash();
+        if (!isWhiteTurn) {
+            hash ^= Zobrist.BLACK_TO_MOVE;
+        }
+        if (isCountingRuleApplied()) {
+            hash ^= Zobrist.COUNTING;
+        }
+        return hash;
+    }
+    
     /**
      * ตรวจสอบว่าเป็นตาของฝ่ายขาวหรือไม่
      * @return true ถ้าเป็นตาของฝ่ายขาว, false ถ้าเป็นตาของฝ่ายดำ
@@ -161,35 +240,14 @@ public class Board extends BoardAbstract {
         }
         
         // บันทึกหมากที่ถูกกิน (ถ้ามี)
-        Piece capturedPiece = getPiece(move.toRow, move.toCol);
-        move.setCapturedPiece(capturedPiece);
+        move.setCapturedPiece(getPiece(move.toRow, move.toCol));
         
         // ย้ายหมาก
-        Piece piece = getPiece(move.fromRow, move.fromCol);
-        board[move.toRow][move.toCol] = piece;
-        board[move.fromRow][move.fromCol] = null;
-        
-        // อัปเดตตำแหน่งของหมาก
-        piece.setPosition(move.toRow, move.toCol);
-        
-        // ตรวจสอบการเลื่อนขั้นของเบี้ย
-        if (move.isPromotion() && piece instanceof model.pieces.Pawn) {
-            ((model.pieces.Pawn) piece).promote();
-        }
-        
-        // อัปเดตจำนวนตาที่ไม่มีการกินหมาก
-        if (capturedPiece != null) {
-            movesSinceCapture = 0;
-        } else {
-            movesSinceCapture++;
-        }
+        applyMove(move.fromRow, move.fromCol, move.toRow, move.toCol);
         
         // บันทึกการเคลื่อนที่
         moveHistory.add(move);
         
-        // สลับตา
-        isWhiteTurn = !isWhiteTurn;
-        
         // แจ้งเตือนผู้ฟัง
         notifyBoardChanged();
         
@@ -223,43 +281,104 @@ public class Board extends BoardAbstract {
         Move lastMove = moveHistory.remove(moveHistory.size() - 1);
         
         // ย้ายหมากกลับ
-        Piece piece = getPiece(lastMove.toRow, lastMove.toCol);
-        board[lastMove.fromRow][lastMove.fromCol] = piece;
-        board[lastMove.toRow][lastMove.toCol] = lastMove.getCapturedPiece();
+        revertMove(lastMove.fromRow, lastMove.fromCol, lastMove.toRow, lastMove.toCol);
         
-        // อัปเดตตำแหน่งของหมาก
-        piece.setPosition(lastMove.fromRow, lastMove.fromCol);
+        // แจ้งเตือนผู้ฟัง
+        notifyBoardChanged();
         
-        // ยกเลิกการเลื่อนขั้นของเบี้ย (ถ้ามี)
-        if (lastMove.isPromotion() && piece instanceof model.pieces.Pawn) {
-            // ต้องสร้างเบี้ยใหม่เพราะไม่สามารถยกเลิกการเลื่อนขั้นได้
-            board[lastMove.fromRow][lastMove.fromCol] = PieceFactory.createPiece(
-                piece.isWhite() ? 'p' : 'P',
-                lastMove.fromRow,
-                lastMove.fromCol
-            );
-        }
+        return true;
+    }
+    
+    /**
+     * ทำการเคลื่อนที่แบบเร็วสำหรับการค้นหาของ AI
+     * ใช้กับการเคลื่อนที่ที่ถูกต้องแน่นอนแล้วเท่านั้น (เช่น จาก generateLegalMoves(MoveList))
+     * ไม่ตรวจสอบความถูกต้อง ไม่บันทึกประวัติ ไม่แจ้งเตือนผู้ฟัง และไม่ตรวจสอบสถานะเกม
+     * ต้องย้อนกลับด้วย unmakeSearchMove ตามลำดับ
+     * @param move การเคลื่อนที่ที่เข้ารหัสด้วย MoveEncoding
+     */
+    public void makeSearchMove(int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        applyMove(BitboardPosition.row(from), BitboardPosition.col(from),
+                  BitboardPosition.row(to), BitboardPosition.col(to));
+    }
+    
+    /**
+     * ย้อนกลับการเคลื่อนที่แบบเร็วที่ทำด้วย makeSearchMove ล่าสุด
+     * @param move การเคลื่อนที่เดียวกับที่ส่งให้ makeSearchMove
+     */
+    public void unmakeSearchMove(int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        revertMove(BitboardPosition.row(from), BitboardPosition.col(from),
+                   BitboardPosition.row(to), BitboardPosition.col(to));
+    }
+    
+    /**
+     * ส่งตาให้อีกฝ่ายโดยไม่เดินหมาก (null move) สำหรับการตัดกิ่งของการค้นหา
+     * ห้ามใช้ขณะถูกรุก และต้องย้อนกลับด้วย unmakeNullMove
+     */
+    public void makeNullMove() {
+        isWhiteTurn = !isWhiteTurn;
+        pushKey();
+    }
+    
+    /**
+     * ย้อนกลับ null move ที่ทำด้วย makeNullMove
+     */
+    public void unmakeNullMove() {
+        historySize--;
+        isWhiteTurn = !isWhiteTurn;
+    }
+    
+    /**
+     * ย้ายหมากบนกระดาน แล้วบันทึกสถานะที่ย้อนกลับไม่ได้ลงสแต็ก
+     * การเลื่อนขั้นตัดสินจากตำแหน่งจริงบนกระดาน (เบี้ยที่ยังไม่หงายเดินถึงแถวเลื่อนขั้น)
+     */
+    private void applyMove(int fromRow, int fromCol, int toRow, int toCol) {
+        int from = BitboardPosition.square(fromRow, fromCol);
+        int to = BitboardPosition.square(toRow, toCol);
+        int type = position.getType(from);
+        byte capturedPiece = position.getPiece(to);
+        boolean promotion = type == BitboardPosition.BIA
+                            && MoveGenerator.isPromotionSquare(position.isWhite(from), to);
+        
+        stateStack.push(capturedPiece, promotion, movesSinceCapture);
+        position.move(from, to, promotion ? BitboardPosition.BIA_NGAI : type);
         
         // อัปเดตจำนวนตาที่ไม่มีการกินหมาก
-        if (lastMove.getCapturedPiece() != null) {
-            movesSinceCapture = 0;
-            for (int i = moveHistory.size() - 1; i >= 0; i--) {
-                if (moveHistory.get(i).getCapturedPiece() != null) {
-                    break;
-                }
-                movesSinceCapture++;
-            }
-        } else {
-            movesSinceCapture--;
-        }
+        movesSinceCapture = capturedPiece != BitboardPosition.EMPTY ? 0 : movesSinceCapture + 1;
         
         // สลับตา
         isWhiteTurn = !isWhiteTurn;
+        pushKey();
+    }
+    
+    /**
+     * บันทึก hash ของตำแหน่งปัจจุบันต่อท้ายวงแหวนประวัติ
+     */
+    private void pushKey() {
+        keyHistory[historySize & (KEY_HISTORY_SIZE - 1)] = getHash();
+        historySize++;
+    }
+    
+    /**
+     * ย้อนกลับการเคลื่อนที่ล่าสุดจากสถานะบนสแต็ก ใช้เวลาคงที่และไม่สร้างออบเจ็กต์
+     */
+    private void revertMove(int fromRow, int fromCol, int toRow, int toCol) {
+        int from = BitboardPosition.square(fromRow, fromCol);
+        int to = BitboardPosition.square(toRow, toCol);
+        
+        historySize--;
+        stateStack.pop();
+        byte capturedPiece = stateStack.getCaptured();
+        position.move(to, from, stateStack.isPromotion() ? BitboardPosition.BIA : position.getType(to));
+        if (capturedPiece != BitboardPosition.EMPTY) {
+            position.put(to, capturedPiece);
+        }
         
-        // แจ้งเตือนผู้ฟัง
-        notifyBoardChanged();
-        
-        return true;
+        movesSinceCapture = stateStack.getMovesSinceCapture();
+        isWhiteTurn = !isWhiteTurn;
     }
     
     /**
@@ -267,20 +386,34 @@ public class Board extends BoardAbstract {
      * @return รายการการเคลื่อนที่ที่ถูกต้อง
      */
     public List<Move> generateLegalMoves() {
-        List<Move> legalMoves = new ArrayList<>();
+        MoveList moves = moveBuffer;
+        moveValidator.generateLegalMoves(moves);
         
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = getPiece(i, j);
-                if (piece != null && piece.isWhite() == isWhiteTurn) {
-                    legalMoves.addAll(moveValidator.getLegalMoves(i, j));
-                }
-            }
+        List<Move> legalMoves = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            legalMoves.add(Move.fromEncoded(moves.get(i)));
         }
         
         return legalMoves;
     }
     
+    /**
+     * สร้างการเคลื่อนที่ที่ถูกต้องทั้งหมดสำหรับฝ่ายปัจจุบันแบบ int (สำหรับการค้นหา)
+     * @param moves รายการที่จะเขียนการเคลื่อนที่ลงไป (จะถูกล้างก่อน)
+     */
+    public void generateLegalMoves(MoveList moves) {
+        moveValidator.generateLegalMoves(moves);
+    }
+    
+    /**
+     * สร้างเฉพาะการกินหมากและการเลื่อนขั้นของเบี้ยที่ถูกต้องสำหรับฝ่ายปัจจุบัน (สำหรับ quiescence search)
+     * @param moves รายการที่จะเขียนการเคลื่อนที่ลงไป (จะถูกล้างก่อน)
+     */
+    public void generateCaptures(MoveList moves) {
+        moves.clear();
+        LegalMoveGenerator.generateCaptures(position, isWhiteTurn, moves);
+    }
+    
     /**
      * รับรายการการเคลื่อนที่ที่ถูกต้องสำหรับหมากที่ตำแหน่งที่กำหนด
      * @param row แถว
@@ -296,32 +429,24 @@ public class Board extends BoardAbstract {
      * @return ค่าของกระดาน (บวกถ้าฝ่ายขาวได้เปรียบ, ลบถ้าฝ่ายดำได้เปรียบ)
      */
     public int evaluate() {
-        int score = 0;
-        
-        // ประเมินจากหมากที่เหลือ
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = getPiece(i, j);
-                if (piece != null) {
-                    int value = piece.getValue() + piece.getPositionValue();
-                    score += piece.isWhite() ? value : -value;
-                }
-            }
-        }
-        
-        // ประเมินจากการรุก
-        if (checkDetector.isInCheck(!isWhiteTurn)) {
-            score += isWhiteTurn ? 50 : -50;
-        }
+        // ค่าหมากและค่าตำแหน่งถูกอัปเดตไว้แล้วทุกครั้งที่มีการเคลื่อนที่
+        int score = position.getScore();
         
-        // ประเมินจากการจน
-        if (checkDetector.isCheckmate(!isWhiteTurn)) {
-            score += isWhiteTurn ? 10000 : -10000;
+        // ประเมินจากการรุก (ฝ่ายที่ถูกรุกเสียเปรียบ)
+        if (position.isInCheck(isWhiteTurn)) {
+            score += isWhiteTurn ? -50 : 50;
         }
         
         return score;
     }
     
+    /**
+     * แปลงรหัสหมากแบบ byte เป็นสัญลักษณ์ของหมาก
+     */
+    private static char symbolOf(byte piece) {
+        return PieceType.ofCode(piece).getSymbol(BitboardPosition.isWhitePiece(piece));
+    }
+    
     /**
      * ตรวจสอบว่าเกมจบหรือไม่
      * @return true ถ้าเกมจบ, false ถ้าเกมยังไม่จบ
@@ -337,7 +462,34 @@ public class Board extends BoardAbstract {
      * @return true ถ้ากฎการนับครบถูกใช้, false ถ้าไม่ถูกใช้
      */
     public boolean isCountingRuleApplied() {
-        return movesSinceCapture >= 64; // นับครบ 64 ตา
+        return movesSinceCapture >= getCountLimit();
+    }
+    
+    /**
+     * รับจำนวนตาที่ไม่มีการกินหมากที่ทำให้นับครบในตำแหน่งปัจจุบัน (ศักดิ์กระดานหรือศักดิ์หมาก)
+     * @return จำนวนตาที่ทำให้นับครบ
+     */
+    public int getCountLimit() {
+        return CountingRules.getCountLimit(position);
+    }
+    
+    /**
+     * ตรวจสอบว่าตำแหน่งปัจจุบัน (รวมฝ่ายที่จะเดิน) เคยเกิดขึ้นแล้วหรือไม่
+     * ดูย้อนหลังเฉพาะตั้งแต่การกินหมากครั้งล่าสุด เพราะตำแหน่งก่อนการกินจะซ้ำกับตำแหน่งหลังจากนั้นไม่ได้
+     * @param maxPlies จำนวนตาย้อนหลังสูงสุดที่จะดู (เช่น จนถึง null move ล่าสุดของการค้นหา)
+     * @return true ถ้าเป็นตำแหน่งซ้ำ, false ถ้าไม่ซ้ำ
+     */
+    public boolean isRepetition(int maxPlies) {
+        int window = Math.min(Math.min(maxPlies, movesSinceCapture),
+                              Math.min(historySize, KEY_HISTORY_SIZE) - 1);
+        int current = historySize - 1;
+        long key = keyHistory[current & (KEY_HISTORY_SIZE - 1)];
+        for (int back = 4; back <= window; back += 2) {
+            if (keyHistory[(current - back) & (KEY_HISTORY_SIZE - 1)] == key) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -400,6 +552,30 @@ public class Board extends BoardAbstract {
         return movesSinceCapture;
     }
     
+    /**
+     * สร้างสำเนาของกระดานสำหรับการค้นหาในเธรดอื่น
+     * คัดลอกตำแหน่งหมาก ฝ่ายที่จะเดิน จำนวนตาที่ไม่มีการกินหมาก และ hash ของตำแหน่งที่ผ่านมา
+     * (ไม่รวมประวัติการเคลื่อนที่และผู้ฟัง)
+     * @return กระดานใหม่ที่มีตำแหน่งเดียวกัน
+     */
+    public Board copy() {
+        Board copy = new Board();
+        copy.position.copyFrom(position);
+        copy.isWhiteTurn = isWhiteTurn;
+        copy.movesSinceCapture = movesSinceCapture;
+        System.arraycopy(keyHistory, 0, copy.keyHistory, 0, KEY_HISTORY_SIZE);
+        copy.historySize = historySize;
+        return copy;
+    }
+    
+    /**
+     * รับตำแหน่งหมากแบบบิตบอร์ด
+     * @return ตำแหน่งหมากแบบบิตบอร์ด
+     */
+    public BitboardPosition getPosition() {
+        return position;
+    }
+    
     /**
      * รับประวัติการเคลื่อนที่
      * @return ประวัติการเคลื่อนที่
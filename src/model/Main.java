@@ -15,6 +15,7 @@ public class Main {
         
         // สร้าง AI
         model.ai.ChessAI ai = new model.ai.ChessAI(model.ai.ChessAI.Difficulty.MEDIUM);
+        ai.setPondering(true); // ใช้เวลาที่ผู้เล่นคิดให้ AI คิดล่วงหน้า
         
         // สร้างตัวควบคุม
         controller.GameController controller = new controller.GameController(board, ai);
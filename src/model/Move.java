@@ -1,5 +1,8 @@
 package model;
 
+import model.bitboard.BitboardPosition;
+import model.bitboard.MoveEncoding;
+
 /**
  * คลาสสำหรับการเคลื่อนที่ในหมากรุกไทย
  */
@@ -37,6 +40,19 @@ public class Move {
         this.promotion = promotion;
     }
     
+    /**
+     * สร้างการเคลื่อนที่จากรูปแบบ int ที่ใช้ในการค้นหา
+     * @param move การเคลื่อนที่ที่เข้ารหัสด้วย MoveEncoding
+     * @return การเคลื่อนที่
+     */
+    public static Move fromEncoded(int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        return new Move(BitboardPosition.row(from), BitboardPosition.col(from),
+                        BitboardPosition.row(to), BitboardPosition.col(to),
+                        MoveEncoding.isPromotion(move));
+    }
+    
     /**
      * ตรวจสอบว่าเป็นการเลื่อนขั้นหรือไม่
      * @return true ถ้าเป็นการเลื่อนขั้น, false ถ้าไม่ใช่
@@ -0,0 +1,92 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * สแต็กของสถานะที่ย้อนกลับไม่ได้ของกระดาน หนึ่งรายการต่อหนึ่งการเคลื่อนที่
+ * ถูก push ตอนทำการเคลื่อนที่และ pop ตอนย้อนกลับ ทำให้การย้อนกลับใช้เวลาคงที่และไม่ต้องสร้างออบเจ็กต์
+ * เก็บข้อมูลแบบอาร์เรย์ขนานกัน เพื่อไม่ต้องสร้างออบเจ็กต์ต่อรายการ
+ */
+public class StateStack {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] captured;          // รหัสหมากที่ถูกกิน (EMPTY ถ้าไม่มี)
+    private boolean[] promotion;      // การเคลื่อนที่นี้ทำให้เบี้ยเลื่อนขั้นหรือไม่
+    private int[] movesSinceCapture;  // จำนวนตาที่ไม่มีการกินหมากก่อนการเคลื่อนที่
+    private int size;
+
+    /**
+     * สร้างสแต็กว่างใหม่
+     */
+    public StateStack() {
+        captured = new byte[INITIAL_CAPACITY];
+        promotion = new boolean[INITIAL_CAPACITY];
+        movesSinceCapture = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * บันทึกสถานะก่อนการเคลื่อนที่
+     * @param capturedPiece รหัสหมากที่ถูกกิน หรือ BitboardPosition.EMPTY
+     * @param isPromotion การเคลื่อนที่นี้ทำให้เบี้ยเลื่อนขั้นหรือไม่
+     * @param counter จำนวนตาที่ไม่มีการกินหมากก่อนการเคลื่อนที่
+     */
+    public void push(byte capturedPiece, boolean isPromotion, int counter) {
+        if (size == captured.length) {
+            int capacity = size * 2;
+            captured = Arrays.copyOf(captured, capacity);
+            promotion = Arrays.copyOf(promotion, capacity);
+            movesSinceCapture = Arrays.copyOf(movesSinceCapture, capacity);
+        }
+        captured[size] = capturedPiece;
+        promotion[size] = isPromotion;
+        movesSinceCapture[size] = counter;
+        size++;
+    }
+
+    /**
+     * นำรายการบนสุดออก (ข้อมูลยังอ่านได้ด้วย getCaptured/isPromotion/getMovesSinceCapture จนกว่าจะ push ใหม่)
+     */
+    public void pop() {
+        size--;
+    }
+
+    /**
+     * รับรหัสหมากที่ถูกกินของรายการที่เพิ่ง pop
+     * @return รหัสหมากที่ถูกกิน หรือ BitboardPosition.EMPTY
+     */
+    public byte getCaptured() {
+        return captured[size];
+    }
+
+    /**
+     * ตรวจสอบว่ารายการที่เพิ่ง pop เป็นการเลื่อนขั้นหรือไม่
+     * @return true ถ้าเป็นการเลื่อนขั้น
+     */
+    public boolean isPromotion() {
+        return promotion[size];
+    }
+
+    /**
+     * รับจำนวนตาที่ไม่มีการกินหมากของรายการที่เพิ่ง pop
+     * @return จำนวนตาที่ไม่มีการกินหมาก
+     */
+    public int getMovesSinceCapture() {
+        return movesSinceCapture[size];
+    }
+
+    /**
+     * รับจำนวนรายการในสแต็ก
+     * @return จำนวนรายการ
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ล้างสแต็ก
+     */
+    public void clear() {
+        size = 0;
+    }
+}
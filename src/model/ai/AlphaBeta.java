@@ -1,19 +1,78 @@
 package model.ai;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import model.Board;
 import model.Move;
+import model.bitboard.BitboardPosition;
+import model.bitboard.MoveEncoding;
+import model.bitboard.MoveList;
+import model.bitboard.PieceSquareTables;
+import model.bitboard.Zobrist;
+import model.rules.CountingRules;
 
 /**
- * คลาสสำหรับอัลกอริทึม Minimax ที่ปรับปรุงด้วย Alpha-Beta Pruning
+ * คลาสสำหรับอัลกอริทึม Alpha-Beta แบบ negamax (principal variation search)
  * ใช้สำหรับ AI ในหมากรุกไทย
+ * คะแนนภายในการค้นหาเป็นมุมมองของฝ่ายที่จะเดินเสมอ
+ * รองรับการค้นหาหลายเธรดแบบ Lazy SMP: เธรดช่วยค้นหารากเดียวกันบนสำเนาของกระดานของตัวเอง
+ * ที่ความลึกสลับกัน และแบ่งผลกันผ่านตารางแปลงตำแหน่งที่ใช้ร่วมกันโดยไม่ใช้ล็อก
+ * ผลที่รายงานมาจากเธรดหลักเสมอ
  */
 public class AlphaBeta {
     private static final int DEFAULT_DEPTH = 4;
+    private static final int MAX_PLY = 64;
+    public static final int MATE_SCORE = 100000; // ค่าของการจน (ลดลงตามระยะ เพื่อให้เลือกจนที่เร็วที่สุด)
+    public static final int DRAW_SCORE = 0;
+    private static final int MATE_BOUND = MATE_SCORE - MAX_PLY; // คะแนนที่มากกว่านี้คือการจน
+    private static final int DEFAULT_HASH_MB = 16;
+    private static final int DELTA_MARGIN = PieceSquareTables.MAX_MOVE_GAIN + 5; // ค่าเผื่อของ delta pruning: ค่าตำแหน่งที่หมากที่เดินได้เพิ่มมากที่สุดในหนึ่งตา
+    private static final int INFINITY = MATE_SCORE + 1;
+    private static final int ASPIRATION_WINDOW = PieceSquareTables.MAX_MOVE_GAIN / 4; // ความกว้างเริ่มต้นของหน้าต่างรอบคะแนนของรอบก่อน (ประมาณค่าตำแหน่งที่การเดินธรรมดาหนึ่งตาเปลี่ยน)
+    private static final int ASPIRATION_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2; // ลดความลึกเพิ่มอีก 1 เมื่อความลึกที่เหลือตั้งแต่ NULL_MOVE_DEEP_DEPTH
+    private static final int NULL_MOVE_DEEP_DEPTH = 7;
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVES = 3; // จำนวนการเคลื่อนที่แรกที่ไม่ถูกลดความลึก
+    private static final int LMR_DEEP_MOVES = 8; // การเคลื่อนที่ลำดับหลังจากนี้ถูกลดความลึกเพิ่มอีก 1
+    private static final int FUTILITY_MARGIN = PieceSquareTables.MAX_MOVE_GAIN + 5; // ค่าที่การเคลื่อนที่ธรรมดาหนึ่งตาเปลี่ยนได้มากที่สุด
+    private static final int MAX_EXTENSIONS = 8; // จำนวนการขยายความลึกสูงสุดในหนึ่งเส้นทางจากราก
+    private static final int SINGULAR_MIN_DEPTH = 6;
+    private static final int SINGULAR_MARGIN = 30; // การเคลื่อนที่อื่นต้องแย่กว่าคะแนนในตารางอย่างน้อยเท่านี้
+    private static final int POLL_MASK = 2047; // ตรวจเวลาและคำสั่งหยุดทุก 2048 โหนด (การอ่านนาฬิกาทุกโหนดช้า)
+    private static final int COUNTING_HORIZON = 16; // เมื่อเหลือน้อยกว่านี้ก่อนนับศักดิ์หมากครบ ค่าของกระดานลดลงเข้าหาเสมอ
+    private static final int COUNTING_STAGE_PLIES = 4; // ค่าของกระดานลดลงทีละช่วง ช่วงละเท่านี้ตา
+    private static final int COUNTING_STAGES = COUNTING_HORIZON / COUNTING_STAGE_PLIES;
+    private static final int NO_NULL_MOVE = Integer.MAX_VALUE / 2; // ยังไม่มี null move บนเส้นทางจากราก
     private int maxDepth;
-    private int nodesExplored;
-    private long startTime;
-    private long timeLimit;
+    private final SearchStats stats = new SearchStats(); // ตัวนับของการค้นหาครั้งล่าสุดของเธรดนี้
+    private volatile long startTime;
+    private volatile long timeLimit;
+    private boolean timeUp; // หมดเวลาระหว่างการค้นหา (ผลหลังจากนี้ไม่เก็บลงตาราง)
+    private volatile boolean stopped; // ถูกสั่งให้หยุด (เธรดช่วยหยุดเมื่อเธรดหลักค้นหาเสร็จ)
+    private volatile boolean pondering; // ค้นหาระหว่างตาของฝ่ายตรงข้าม ไม่จำกัดเวลาจนกว่าจะ ponderHit
+    private int ponderMove; // การตอบโต้ที่คาดไว้จากแนวหลักของการค้นหาครั้งล่าสุด
+    private int completedDepth; // ความลึกของรอบสุดท้ายที่ค้นหาครบ
+    private int completedScore; // คะแนนของรอบสุดท้ายที่ค้นหาครบ
+    private MoveList[] moveLists; // รายการการเคลื่อนที่หนึ่งรายการต่อหนึ่ง ply
+    private TranspositionTable transpositionTable;
+    private MoveOrdering moveOrdering;
+    private int rootBestMove; // การเคลื่อนที่ที่ดีที่สุดของการค้นหารากครั้งล่าสุด
+    private boolean nullMovePruning = true;
+    private boolean lateMoveReductions = true;
+    private boolean futilityPruning = true;
+    private int[] extensionsOnPath; // จำนวนการขยายความลึกตั้งแต่รากจนถึงแต่ละ ply
+    private int[] excludedMoves; // การเคลื่อนที่ที่ถูกยกเว้นระหว่างการตรวจ singular move ของแต่ละ ply
+    private int[] pliesFromNull; // จำนวนตาตั้งแต่ null move ล่าสุดบนเส้นทางจนถึงแต่ละ ply (ขอบเขตของการตรวจตำแหน่งซ้ำ)
+    private final int helperIndex; // 0 = เธรดหลัก, 1.. = เธรดช่วย
+    private List<AlphaBeta> helpers;
+    private ExecutorService helperPool;
     
     /**
      * สร้าง AlphaBeta ใหม่ด้วยความลึกเริ่มต้น
@@ -27,8 +86,23 @@ public class AlphaBeta {
      * @param maxDepth ความลึกสูงสุดในการค้นหา
      */
     public AlphaBeta(int maxDepth) {
+        this(maxDepth, new TranspositionTable(DEFAULT_HASH_MB), 0);
+        this.helpers = new ArrayList<>();
+    }
+    
+    /**
+     * สร้างตัวค้นหาที่ใช้ตารางแปลงตำแหน่งร่วมกับตัวอื่น (สำหรับเธรดช่วย)
+     */
+    private AlphaBeta(int maxDepth, TranspositionTable transpositionTable, int helperIndex) {
         this.maxDepth = maxDepth;
         this.timeLimit = 5000; // 5 วินาที
+        this.helperIndex = helperIndex;
+        this.moveLists = MoveList.forPlies(MAX_PLY);
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = new MoveOrdering(MAX_PLY);
+        this.extensionsOnPath = new int[MAX_PLY + 1];
+        this.excludedMoves = new int[MAX_PLY];
+        this.pliesFromNull = new int[MAX_PLY + 1];
     }
     
     /**
@@ -48,131 +122,792 @@ public class AlphaBeta {
     }
     
     /**
-     * หาการเคลื่อนที่ที่ดีที่สุด
+     * ตั้งค่าขนาดของตารางแปลงตำแหน่ง (ข้อมูลเดิมจะถูกล้าง)
+     * @param sizeMb ขนาดเป็นเมกะไบต์
+     */
+    public void setHashSize(int sizeMb) {
+        transpositionTable.resize(sizeMb);
+    }
+    
+    /**
+     * ล้างตารางแปลงตำแหน่ง (เช่น ตอนเริ่มเกมใหม่)
+     */
+    public void clearHash() {
+        transpositionTable.clear();
+    }
+    
+    /**
+     * ตั้งค่าจำนวนเธรดที่ใช้ค้นหา (1 = ค้นหาเธรดเดียว)
+     * @param threads จำนวนเธรด
+     */
+    public void setThreads(int threads) {
+        threads = Math.max(1, threads);
+        if (threads == helpers.size() + 1) {
+            return;
+        }
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+            helperPool = null;
+        }
+        helpers.clear();
+        for (int i = 1; i < threads; i++) {
+            helpers.add(new AlphaBeta(maxDepth, transpositionTable, i));
+        }
+        if (!helpers.isEmpty()) {
+            helperPool = Executors.newFixedThreadPool(helpers.size(), task -> {
+                Thread thread = new Thread(task, "AlphaBeta-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    /**
+     * รับจำนวนเธรดที่ใช้ค้นหา
+     * @return จำนวนเธรด
+     */
+    public int getThreads() {
+        return helpers.size() + 1;
+    }
+    
+    /**
+     * เตรียมการค้นหาครั้งถัดไปเป็นการ ponder: ไม่จำกัดเวลาจนกว่าจะเรียก ponderHit หรือ stop
+     * ต้องเรียกก่อนเริ่มค้นหาในอีกเธรด เพื่อไม่ให้คำสั่ง stop ที่มาก่อนการค้นหาเริ่มหายไป
+     */
+    public void startPondering() {
+        stopped = false;
+        pondering = true;
+    }
+    
+    /**
+     * เตรียมการค้นหาครั้งถัดไปแบบปกติ: ล้างคำสั่งหยุดที่ค้างอยู่
+     * ต้องเรียกก่อนส่งการค้นหาให้อีกเธรด เพื่อไม่ให้คำสั่ง stop ที่มาก่อนการค้นหาเริ่มหายไป
+     */
+    public void startSearch() {
+        stopped = false;
+        pondering = false;
+    }
+    
+    /**
+     * ฝ่ายตรงข้ามเดินตามที่คาดไว้: ค้นหาต่อโดยเริ่มนับเวลาตามปกติจากตอนนี้
+     */
+    public void ponderHit() {
+        startTime = System.currentTimeMillis();
+        pondering = false;
+    }
+    
+    /**
+     * สั่งให้การค้นหาที่กำลังทำอยู่หยุดโดยเร็ว (ผลของรอบที่ค้นหาครบแล้วยังใช้ได้ และข้อมูลในตารางยังอยู่)
+     */
+    public void stop() {
+        stopped = true;
+    }
+    
+    /**
+     * รับการตอบโต้ของฝ่ายตรงข้ามที่คาดไว้ (การเคลื่อนที่ที่สองของแนวหลัก) จากการค้นหาครั้งล่าสุด
+     * @return การเคลื่อนที่ที่คาดไว้ หรือ null ถ้าไม่มี
+     */
+    public Move getPonderMove() {
+        return ponderMove == MoveEncoding.NO_MOVE ? null : Move.fromEncoded(ponderMove);
+    }
+    
+    /**
+     * เปิดหรือปิด null-move pruning
+     * @param enabled true ถ้าต้องการใช้
+     */
+    public void setNullMovePruning(boolean enabled) {
+        this.nullMovePruning = enabled;
+    }
+    
+    /**
+     * เปิดหรือปิดการลดความลึกของการเคลื่อนที่ลำดับท้าย (late-move reductions)
+     * @param enabled true ถ้าต้องการใช้
+     */
+    public void setLateMoveReductions(boolean enabled) {
+        this.lateMoveReductions = enabled;
+    }
+    
+    /**
+     * เปิดหรือปิด futility pruning ที่โหนดก่อนถึงความลึกสุดท้าย
+     * @param enabled true ถ้าต้องการใช้
+     */
+    public void setFutilityPruning(boolean enabled) {
+        this.futilityPruning = enabled;
+    }
+    
+    /**
+     * หาการเคลื่อนที่ที่ดีที่สุดด้วย iterative deepening
+     * ค้นหาที่ความลึก 1, 2, 3, ... จนถึงความลึกสูงสุดหรือหมดเวลา และคืนผลของรอบสุดท้ายที่ค้นหาครบ
+     * แต่ละรอบค้นหาการเคลื่อนที่ที่ดีที่สุดของรอบก่อน (และแนวหลักที่เก็บในตาราง) ก่อนเสมอ
+     * และเริ่มด้วยหน้าต่าง (aspiration window) แคบๆ รอบคะแนนของรอบก่อน ขยายเมื่อคะแนนหลุดหน้าต่าง
      * @param board กระดานปัจจุบัน
      * @return การเคลื่อนที่ที่ดีที่สุด หรือ null ถ้าไม่มีการเคลื่อนที่ที่ถูกต้อง
      */
     public Move findBestMove(Board board) {
-        List<Move> legalMoves = board.generateLegalMoves();
-        if (legalMoves.isEmpty()) {
-            System.out.println("AlphaBeta: ไม่มีการเคลื่อนที่ที่ถูกต้อง");
-            return null;
+        return search(board).getBestMove();
+    }
+    
+    /**
+     * ค้นหาด้วย iterative deepening ตามความลึกและเวลาที่ตั้งไว้ (ดู findBestMove)
+     * หยุดได้จากเธรดอื่นด้วย stop ซึ่งจะได้ผลของรอบสุดท้ายที่ค้นหาครบ
+     * คำสั่ง stop ที่มาก่อนการค้นหาเริ่ม (หลัง startSearch หรือ startPondering) ทำให้จบทันที
+     * และคำสั่งหยุดถูกล้างเมื่อค้นหาเสร็จ
+     * ถ้าเธรดช่วยผิดพลาด จะโยน IllegalStateException ที่มีสาเหตุเป็นข้อผิดพลาดนั้น
+     * @param board กระดานปัจจุบัน (จะถูกคืนสู่สภาพเดิม)
+     * @return ผลการค้นหา
+     */
+    public SearchResult search(Board board) {
+        ponderMove = MoveEncoding.NO_MOVE;
+        MoveList rootMoves = moveLists[0];
+        board.generateLegalMoves(rootMoves);
+        if (rootMoves.isEmpty()) {
+            pondering = false;
+            stopped = false;
+            stats.reset();
+            return new SearchResult(null, null, terminalScore(board, 0), stats.copy());
         }
         
-        Move bestMove = null;
-        int bestValue = Integer.MIN_VALUE;
-        int alpha = Integer.MIN_VALUE;
-        int beta = Integer.MAX_VALUE;
+        long start = System.currentTimeMillis();
+        transpositionTable.newSearch();
         
-        nodesExplored = 0;
-        startTime = System.currentTimeMillis();
+        // เริ่มเธรดช่วย แต่ละเธรดใช้สำเนาของกระดานของตัวเอง
+        List<Future<?>> helperResults = new ArrayList<>(helpers.size());
+        for (AlphaBeta helper : helpers) {
+            Board helperBoard = board.copy();
+            helper.maxDepth = maxDepth;
+            helper.timeLimit = timeLimit;
+            helper.nullMovePruning = nullMovePruning;
+            helper.lateMoveReductions = lateMoveReductions;
+            helper.futilityPruning = futilityPruning;
+            helper.stopped = false;
+            helperResults.add(helperPool.submit(() -> helper.iterativeDeepening(helperBoard, start)));
+        }
+        
+        int bestMove = iterativeDeepening(board, start);
+        
+        // เธรดหลักค้นหาเสร็จแล้ว ให้เธรดช่วยหยุดและรอจนหยุดจริง ก่อนคืนกระดานให้ผู้เรียก
+        SearchStats totals = stats.copy();
+        for (AlphaBeta helper : helpers) {
+            helper.stopped = true;
+        }
+        Throwable helperError = null;
+        for (int i = 0; i < helperResults.size(); i++) {
+            try {
+                helperResults.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                helperError = e.getCause();
+            }
+            totals.add(helpers.get(i).stats);
+        }
+        pondering = false;
+        stopped = false; // คำสั่งหยุดใช้กับการค้นหาครั้งนี้แล้ว
+        if (helperError != null) {
+            // เธรดช่วยทุกตัวหยุดแล้ว ส่งข้อผิดพลาดต่อให้ผู้เรียกแทนการทิ้งไป
+            throw new IllegalStateException("เธรดช่วยค้นหาผิดพลาด", helperError);
+        }
+        
+        // การตอบโต้ที่คาดไว้สำหรับการ ponder ครั้งถัดไป
+        board.makeSearchMove(bestMove);
+        int reply = TranspositionTable.move(transpositionTable.probe(tableKey(board)));
+        board.generateLegalMoves(moveLists[1]);
+        if (contains(moveLists[1], reply)) {
+            ponderMove = reply;
+        }
+        board.unmakeSearchMove(bestMove);
+        
+        totals.principalVariation = principalVariation(board, completedDepth);
+        totals.elapsed = System.currentTimeMillis() - start;
+        return new SearchResult(Move.fromEncoded(bestMove), getPonderMove(), completedScore, totals);
+    }
+    
+    /**
+     * ค้นหาด้วย iterative deepening บนกระดานที่กำหนด
+     * เธรดช่วยลำดับคี่ค้นหาลึกกว่าเธรดหลักหนึ่งชั้นในแต่ละรอบ เพื่อให้เธรดต่างๆ ไม่ค้นหาต้นไม้เดียวกันพร้อมกัน
+     * และเติมผลของความลึกถัดไปลงตารางไว้ก่อน
+     * @param board กระดาน (ของเธรดนี้)
+     * @param start เวลาที่เริ่มค้นหา (มิลลิวินาที)
+     * @return การเคลื่อนที่ที่ดีที่สุดของรอบสุดท้ายที่ค้นหาครบ
+     */
+    private int iterativeDeepening(Board board, long start) {
+        MoveList rootMoves = moveLists[0];
+        board.generateLegalMoves(rootMoves);
+        
+        stats.reset();
+        startTime = start;
+        timeUp = false;
+        moveOrdering.newSearch();
         
-        for (Move move : legalMoves) {
-            board.makeMove(move);
-            int value = alphaBeta(board, maxDepth - 1, alpha, beta, false);
-            board.undoLastMove();
+        long key = tableKey(board);
+        moveToFront(rootMoves, TranspositionTable.move(transpositionTable.probe(key)));
+        
+        int bestMove = rootMoves.get(0);
+        int bestValue = 0;
+        completedDepth = 0;
+        int depthOffset = helperIndex % 2;
+        long previousIterationNodes = 0;
+        
+        for (int depth = 1 + depthOffset; depth <= maxDepth; depth++) {
+            long iterationStart = stats.nodes;
+            int window = ASPIRATION_WINDOW;
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            if (depth >= ASPIRATION_MIN_DEPTH && Math.abs(bestValue) < MATE_BOUND) {
+                alpha = Math.max(bestValue - window, -INFINITY);
+                beta = Math.min(bestValue + window, INFINITY);
+            }
             
-            nodesExplored++;
+            int value;
+            while (true) {
+                value = searchRoot(board, rootMoves, depth, alpha, beta);
+                if (timeUp) {
+                    break;
+                }
+                // หลุดหน้าต่าง: ขยายด้านที่หลุดแล้วค้นหาใหม่
+                if (value <= alpha) {
+                    window *= 2;
+                    alpha = Math.max(value - window, -INFINITY);
+                } else if (value >= beta) {
+                    window *= 2;
+                    beta = Math.min(value + window, INFINITY);
+                } else {
+                    break;
+                }
+            }
             
-            if (value > bestValue) {
-                bestValue = value;
-                bestMove = move;
+            // รอบที่ค้นหาไม่ครบถูกทิ้งไป
+            if (timeUp) {
+                break;
             }
             
-            alpha = Math.max(alpha, bestValue);
+            bestMove = rootBestMove;
+            bestValue = value;
+            completedDepth = depth;
+            transpositionTable.store(key, depth, TranspositionTable.EXACT, scoreToTable(bestValue, 0), bestMove);
+            moveToFront(rootMoves, bestMove);
+            
+            long iterationNodes = stats.nodes - iterationStart;
+            if (previousIterationNodes > 0) {
+                stats.branchingFactor = (double) iterationNodes / previousIterationNodes;
+            }
+            previousIterationNodes = iterationNodes;
             
-            // ตรวจสอบเวลา
-            if (System.currentTimeMillis() - startTime > timeLimit) {
-                System.out.println("AlphaBeta: เกินเวลาที่กำหนด");
+            // พบการจนแล้ว ค้นหาลึกขึ้นไม่ได้ผลที่ดีกว่านี้
+            if (Math.abs(bestValue) >= MATE_BOUND) {
                 break;
             }
         }
         
-        long endTime = System.currentTimeMillis();
-        System.out.println("AlphaBeta: ค้นหา " + nodesExplored + " โหนด ใช้เวลา " + (endTime - startTime) + " มิลลิวินาที");
-        System.out.println("AlphaBeta: เลือกการเคลื่อนที่ที่ดีที่สุด: " + bestMove + " ด้วยค่า: " + bestValue);
-        
+        stats.depth = completedDepth;
+        completedScore = bestValue;
         return bestMove;
     }
     
     /**
-     * อัลกอริทึม Alpha-Beta Pruning
+     * ค้นหาการเคลื่อนที่ของรากด้วยหน้าต่างที่กำหนด และเก็บการเคลื่อนที่ที่ดีที่สุดไว้ใน rootBestMove
+     * @param board กระดานปัจจุบัน
+     * @param rootMoves การเคลื่อนที่ของราก (การเคลื่อนที่ที่ดีที่สุดของรอบก่อนอยู่หน้าสุด)
+     * @param depth ความลึก
+     * @param alpha ค่า alpha
+     * @param beta ค่า beta
+     * @return คะแนนของรากจากมุมมองของฝ่ายที่จะเดิน
+     */
+    private int searchRoot(Board board, MoveList rootMoves, int depth, int alpha, int beta) {
+        int bestValue = -INFINITY;
+        rootBestMove = rootMoves.get(0);
+        extensionsOnPath[1] = 0;
+        pliesFromNull[1] = NO_NULL_MOVE;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            board.makeSearchMove(move);
+            int value = searchChild(board, depth - 1, 1, alpha, beta, i == 0);
+            board.unmakeSearchMove(move);
+            
+            if (timeUp) {
+                return bestValue;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                rootBestMove = move;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+    
+    /**
+     * ค้นหาตำแหน่งหลังการเคลื่อนที่แบบ principal variation search
+     * การเคลื่อนที่แรกค้นหาด้วยหน้าต่างเต็ม ส่วนที่เหลือค้นหาด้วยหน้าต่างว่าง (null window)
+     * เพื่อพิสูจน์ว่าไม่ดีกว่าการเคลื่อนที่แรก และค้นหาใหม่ด้วยหน้าต่างเต็มเมื่อพิสูจน์ไม่ได้
+     * @return คะแนนจากมุมมองของฝ่ายที่เพิ่งเดิน
+     */
+    private int searchChild(Board board, int depth, int ply, int alpha, int beta, boolean firstMove) {
+        if (firstMove) {
+            return -alphaBeta(board, depth, ply, -beta, -alpha, true);
+        }
+        int value = -alphaBeta(board, depth, ply, -alpha - 1, -alpha, true);
+        if (value > alpha && value < beta && !timeUp) {
+            value = -alphaBeta(board, depth, ply, -beta, -alpha, true);
+        }
+        return value;
+    }
+    
+    /**
+     * อ่านแนวหลัก (principal variation) จากการเคลื่อนที่ที่ดีที่สุดที่เก็บในตาราง
+     * @param board กระดานปัจจุบัน (จะถูกคืนสู่สภาพเดิม)
+     * @param depth ความยาวสูงสุดของแนวหลัก
+     * @return แนวหลัก (แก้ไขไม่ได้)
+     */
+    private List<Move> principalVariation(Board board, int depth) {
+        List<Move> pv = new ArrayList<>(depth);
+        int[] line = new int[depth];
+        int length = 0;
+        MoveList moves = moveLists[1];
+        while (length < depth) {
+            int move = TranspositionTable.move(transpositionTable.probe(tableKey(board)));
+            board.generateLegalMoves(moves);
+            if (move == MoveEncoding.NO_MOVE || !contains(moves, move)) {
+                break;
+            }
+            board.makeSearchMove(move);
+            line[length++] = move;
+            pv.add(Move.fromEncoded(move));
+        }
+        while (length > 0) {
+            board.unmakeSearchMove(line[--length]);
+        }
+        return Collections.unmodifiableList(pv);
+    }
+    
+    private static boolean contains(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * อัลกอริทึม Alpha-Beta แบบ negamax
      * @param board กระดานปัจจุบัน
      * @param depth ความลึกที่เหลือ
+     * @param ply ระยะจากราก
      * @param alpha ค่า alpha
      * @param beta ค่า beta
-     * @param isMaximizing true ถ้าเป็นผู้เล่นที่ต้องการค่าสูงสุด, false ถ้าเป็นผู้เล่นที่ต้องการค่าต่ำสุด
-     * @return ค่าของกระดาน
+     * @param allowNullMove ลอง null move ได้หรือไม่ (ไม่ทำ null move สองตาติดกัน)
+     * @return ค่าของกระดานจากมุมมองของฝ่ายที่จะเดิน
      */
-    private int alphaBeta(Board board, int depth, int alpha, int beta, boolean isMaximizing) {
-        nodesExplored++;
+    private int alphaBeta(Board board, int depth, int ply, int alpha, int beta, boolean allowNullMove) {
+        // ถึงความลึกที่กำหนดแล้ว ค้นหาต่อเฉพาะการกินและการเลื่อนขั้นจนตำแหน่งสงบ
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(board, ply, alpha, beta);
+        }
+        
+        stats.nodes++;
+        if (ply > stats.selectiveDepth) {
+            stats.selectiveDepth = ply;
+        }
+        
+        // ครบกฎการนับ ถือว่าเสมอ (ใช้ตัวนับที่กระดานติดตามไว้ สร้างการเคลื่อนที่เฉพาะเมื่อถูกรุก)
+        if (board.isCountingRuleApplied()) {
+            return countingScore(board, ply);
+        }
+        
+        // ตำแหน่งซ้ำกับตำแหน่งก่อนหน้าในเกมหรือบนเส้นทางการค้นหา ถือว่าเสมอ (ไม่ดูข้าม null move)
+        if (board.isRepetition(pliesFromNull[ply])) {
+            return DRAW_SCORE;
+        }
+        
+        // ตรวจสอบเวลาและคำสั่งหยุดเป็นระยะ (เมื่อหมดเวลา ผลของรอบนี้ทั้งหมดจะถูกทิ้ง จึงคืนค่าใดก็ได้)
+        if (timeUp || ((stats.nodes & POLL_MASK) == 0 && shouldStop())) {
+            timeUp = true;
+            return DRAW_SCORE;
+        }
         
-        // ตรวจสอบเงื่อนไขการหยุด
-        if (depth == 0 || board.isGameOver()) {
-            return evaluate(board, depth);
+        // ตรวจสอบตารางแปลงตำแหน่ง (ไม่ใช้ระหว่างตรวจ singular move เพราะผลไม่ได้นับการเคลื่อนที่ทั้งหมด)
+        long key = tableKey(board);
+        long entry = transpositionTable.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        stats.hashProbes++;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            stats.hashHits++;
+        }
+        int excludedMove = excludedMoves[ply];
+        if (excludedMove == MoveEncoding.NO_MOVE
+            && entry != TranspositionTable.NO_ENTRY && TranspositionTable.depth(entry) >= depth) {
+            int score = scoreFromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                || (bound == TranspositionTable.LOWER && score >= beta)
+                || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
         }
         
-        // ตรวจสอบเวลา
-        if (System.currentTimeMillis() - startTime > timeLimit) {
-            return evaluate(board, depth);
+        boolean inCheck = board.getPosition().isInCheck(board.isWhiteTurn());
+        boolean pvNode = beta - alpha > 1;
+        int staticEval = inCheck || pvNode ? -INFINITY : evaluate(board);
+        
+        // null move: ถ้าส่งตาให้อีกฝ่ายแล้วยังได้อย่างน้อย beta การเดินจริงก็น่าจะได้เช่นกัน
+        // ไม่ใช้เมื่อถูกรุก หรือเมื่อเหลือแต่ขุน เม็ด และเบี้ย เพราะหมากรุกไทยช่วงนี้มักเกิด zugzwang
+        if (nullMovePruning && allowNullMove && !pvNode && !inCheck && depth >= NULL_MOVE_MIN_DEPTH
+            && staticEval >= beta && Math.abs(beta) < MATE_BOUND && hasMajorPieces(board)) {
+            int reduction = NULL_MOVE_REDUCTION + (depth >= NULL_MOVE_DEEP_DEPTH ? 1 : 0);
+            extensionsOnPath[ply + 1] = extensionsOnPath[ply];
+            pliesFromNull[ply + 1] = 0;
+            board.makeNullMove();
+            int value = -alphaBeta(board, depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+            board.unmakeNullMove();
+            if (timeUp) {
+                return DRAW_SCORE;
+            }
+            if (value >= beta) {
+                stats.nullMoveCutoffs++;
+                return value >= MATE_BOUND ? beta : value; // ไม่เชื่อการจนที่พิสูจน์ด้วย null move
+            }
         }
         
-        List<Move> legalMoves = board.generateLegalMoves();
+        // futility: ที่ความลึกสุดท้าย การเคลื่อนที่ธรรมดาที่ไม่รุกไม่น่าจะดึงคะแนนขึ้นถึง alpha ได้
+        boolean futile = futilityPruning && depth == 1 && !pvNode && !inCheck
+                         && Math.abs(alpha) < MATE_BOUND && staticEval + FUTILITY_MARGIN <= alpha;
+        
+        boolean canExtend = extensionsOnPath[ply] < MAX_EXTENSIONS;
+        
+        // singular move: ถ้าการเคลื่อนที่อื่นทั้งหมดแย่กว่าคะแนนของการเคลื่อนที่จากตารางชัดเจน
+        // (ค้นหาที่ความลึกครึ่งหนึ่งโดยยกเว้นการเคลื่อนที่นั้น) การเคลื่อนที่นั้นถูกบังคับ จึงค้นหาลึกขึ้นอีกหนึ่งชั้น
+        // ต้องทำก่อนสร้างการเคลื่อนที่ของโหนดนี้ เพราะการค้นหาที่ยกเว้นใช้รายการของ ply เดียวกัน
+        int singularMove = MoveEncoding.NO_MOVE;
+        if (canExtend && depth >= SINGULAR_MIN_DEPTH && excludedMove == MoveEncoding.NO_MOVE
+            && hashMove != MoveEncoding.NO_MOVE && TranspositionTable.bound(entry) != TranspositionTable.UPPER
+            && TranspositionTable.depth(entry) >= depth - 3) {
+            int tableScore = scoreFromTable(TranspositionTable.score(entry), ply);
+            if (Math.abs(tableScore) < MATE_BOUND) {
+                int singularBeta = tableScore - SINGULAR_MARGIN;
+                excludedMoves[ply] = hashMove;
+                int value = alphaBeta(board, depth / 2, ply, singularBeta - 1, singularBeta, false);
+                excludedMoves[ply] = MoveEncoding.NO_MOVE;
+                if (timeUp) {
+                    return DRAW_SCORE;
+                }
+                if (value < singularBeta) {
+                    singularMove = hashMove;
+                }
+            }
+        }
+        
+        // สร้างการเคลื่อนที่ครั้งเดียวต่อโหนด ถ้าไม่มีการเคลื่อนที่เลยคือจนหรืออับ
+        MoveList legalMoves = moveLists[ply];
+        board.generateLegalMoves(legalMoves);
         if (legalMoves.isEmpty()) {
-            return evaluate(board, depth);
-        }
-        
-        if (isMaximizing) {
-            int maxEval = Integer.MIN_VALUE;
-            for (Move move : legalMoves) {
-                board.makeMove(move);
-                int eval = alphaBeta(board, depth - 1, alpha, beta, false);
-                board.undoLastMove();
-                
-                maxEval = Math.max(maxEval, eval);
-                alpha = Math.max(alpha, eval);
-                
-                if (beta <= alpha) {
-                    break; // Beta cutoff
+            return terminalScore(board, ply);
+        }
+        moveOrdering.score(legalMoves, hashMove, ply, board.isWhiteTurn());
+        boolean singleReply = legalMoves.size() == 1;
+        
+        int originalAlpha = alpha;
+        int bestMove = MoveEncoding.NO_MOVE;
+        int bestValue = -INFINITY;
+        
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = moveOrdering.next(legalMoves, i, ply);
+            if (move == excludedMove) {
+                continue;
+            }
+            boolean quiet = !MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move);
+            board.makeSearchMove(move);
+            boolean givesCheck = board.getPosition().isInCheck(board.isWhiteTurn());
+            
+            if (futile && bestValue > -INFINITY && quiet && !givesCheck) {
+                board.unmakeSearchMove(move);
+                stats.futilityPrunes++;
+                continue;
+            }
+            
+            // ขยายความลึก: รุก, มีทางเดินเดียว หรือเป็น singular move (จำกัดจำนวนต่อเส้นทาง)
+            int extension = 0;
+            if (canExtend) {
+                if (givesCheck) {
+                    extension = 1;
+                    stats.checkExtensions++;
+                } else if (singleReply) {
+                    extension = 1;
+                    stats.singleReplyExtensions++;
+                } else if (move == singularMove) {
+                    extension = 1;
+                    stats.singularExtensions++;
                 }
             }
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (Move move : legalMoves) {
-                board.makeMove(move);
-                int eval = alphaBeta(board, depth - 1, alpha, beta, true);
-                board.undoLastMove();
-                
-                minEval = Math.min(minEval, eval);
-                beta = Math.min(beta, eval);
-                
-                if (beta <= alpha) {
-                    break; // Alpha cutoff
+            extensionsOnPath[ply + 1] = extensionsOnPath[ply] + extension;
+            pliesFromNull[ply + 1] = pliesFromNull[ply] + 1;
+            int newDepth = depth - 1 + extension;
+            
+            int value;
+            if (lateMoveReductions && depth >= LMR_MIN_DEPTH && i >= LMR_MIN_MOVES
+                && quiet && !inCheck && extension == 0) {
+                // การเคลื่อนที่ธรรมดาลำดับท้ายค้นหาตื้นลงด้วยหน้าต่างว่างก่อน ถ้าดีกว่า alpha จึงค้นหาใหม่เต็มความลึก
+                int reduction = i >= LMR_DEEP_MOVES && depth >= 2 * LMR_MIN_DEPTH ? 2 : 1;
+                stats.reducedMoves++;
+                value = -alphaBeta(board, newDepth - reduction, ply + 1, -alpha - 1, -alpha, true);
+                if (value > alpha && !timeUp) {
+                    stats.reductionResearches++;
+                    value = searchChild(board, newDepth, ply + 1, alpha, beta, false);
+                }
+            } else {
+                value = searchChild(board, newDepth, ply + 1, alpha, beta, bestValue == -INFINITY);
+            }
+            board.unmakeSearchMove(move);
+            
+            if (timeUp) {
+                return DRAW_SCORE;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        stats.betaCutoffs++;
+                        if (i == 0) {
+                            stats.firstMoveCutoffs++;
+                        }
+                        moveOrdering.recordCutoff(move, ply, depth, board.isWhiteTurn());
+                        break;
+                    }
                 }
             }
-            return minEval;
         }
+        
+        if (excludedMove != MoveEncoding.NO_MOVE) {
+            return bestValue;
+        }
+        
+        // บันทึกผลลงตาราง (ขอบเขตตามหน้าต่างเดิมของโหนดนี้)
+        int bound = bestValue <= originalAlpha ? TranspositionTable.UPPER
+                  : bestValue >= beta ? TranspositionTable.LOWER
+                  : TranspositionTable.EXACT;
+        transpositionTable.store(key, depth, bound, scoreToTable(bestValue, ply), bestMove);
+        return bestValue;
     }
     
     /**
-     * ประเมินสถานะของกระดาน
-     * @param board กระดานที่จะประเมิน
-     * @param depth ความลึกที่เหลือ
-     * @return ค่าของกระดาน
-     */
-    private int evaluate(Board board, int depth) {
-        // ถ้าเกมจบแล้ว
-        if (board.isGameOver()) {
-            // ถ้าเป็นการจน
-            if (board.isWhiteTurn()) {
-                return -10000 - depth; // ฝ่ายขาวแพ้ (ค่าลบ)
-            } else {
-                return 10000 + depth; // ฝ่ายขาวชนะ (ค่าบวก)
+     * Quiescence search: ค้นหาเฉพาะการกินหมากและการเลื่อนขั้นของเบี้ย จนไม่มีการแลกหมากค้างอยู่
+     * ใช้ค่าประเมินของตำแหน่ง (stand pat) เป็นขอบเขต เพราะฝ่ายที่จะเดินเลือกไม่กินก็ได้
+     * และข้ามการกินที่แม้ได้หมากนั้นไปก็ยังไม่ถึงขอบเขต (delta pruning)
+     * ถ้าถูกรุกจะค้นหาทุกการเคลื่อนที่ที่หนีการรุก เพราะเลือกไม่เดินไม่ได้
+     * @param board กระดานปัจจุบัน
+     * @param ply ระยะจากราก
+     * @param alpha ค่า alpha
+     * @param beta ค่า beta
+     * @return ค่าของกระดานจากมุมมองของฝ่ายที่จะเดิน
+     */
+    private int quiescence(Board board, int ply, int alpha, int beta) {
+        stats.nodes++;
+        stats.quiescenceNodes++;
+        if (ply > stats.selectiveDepth) {
+            stats.selectiveDepth = ply;
+        }
+        
+        if (board.isCountingRuleApplied()) {
+            return countingScore(board, ply);
+        }
+        if (timeUp || ((stats.nodes & POLL_MASK) == 0 && shouldStop())) {
+            timeUp = true;
+            return DRAW_SCORE;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return evaluate(board);
+        }
+        
+        boolean inCheck = board.getPosition().isInCheck(board.isWhiteTurn());
+        MoveList moves = moveLists[ply];
+        int standPat;
+        if (inCheck) {
+            board.generateLegalMoves(moves);
+            if (moves.isEmpty()) {
+                return terminalScore(board, ply);
+            }
+            standPat = -INFINITY;
+        } else {
+            standPat = evaluate(board);
+            if (standPat >= beta) {
+                return standPat;
             }
+            alpha = Math.max(alpha, standPat);
+            board.generateCaptures(moves);
         }
+        moveOrdering.score(moves, MoveEncoding.NO_MOVE, ply, board.isWhiteTurn());
         
-        // ใช้การประเมินปกติของกระดาน
-        return board.evaluate();
+        int bestValue = standPat;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moveOrdering.next(moves, i, ply);
+            
+            // delta pruning: แม้ได้หมากที่กินไปเต็มค่าก็ยังไม่ดีกว่าขอบเขต
+            if (!inCheck && !MoveEncoding.isPromotion(move)
+                && standPat + captureGain(board, move) + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+            
+            board.makeSearchMove(move);
+            int value = -quiescence(board, ply + 1, -beta, -alpha);
+            board.unmakeSearchMove(move);
+            
+            if (value > bestValue) {
+                bestValue = value;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+    
+    /**
+     * ตรวจสอบว่าต้องหยุดค้นหาหรือไม่ เธรดช่วยหยุดเมื่อถูกสั่งเท่านั้น
+     * ส่วนเธรดหลักหยุดเมื่อถูกสั่งหรือหมดเวลา (ยกเว้นระหว่าง ponder)
+     */
+    private boolean shouldStop() {
+        return stopped
+               || (helperIndex == 0 && !pondering && System.currentTimeMillis() - startTime > timeLimit);
+    }
+    
+    /**
+     * ตรวจสอบว่าฝ่ายที่จะเดินมีเรือ ม้า หรือโคนเหลืออยู่หรือไม่
+     * (ถ้าเหลือแต่ขุน เม็ด และเบี้ย การส่งตาอาจดีกว่าการเดินทุกตา ซึ่งทำให้ null move ผิด)
+     */
+    private static boolean hasMajorPieces(Board board) {
+        BitboardPosition position = board.getPosition();
+        boolean isWhite = board.isWhiteTurn();
+        return (position.getPieces(isWhite, BitboardPosition.RUEA)
+                | position.getPieces(isWhite, BitboardPosition.MA)
+                | position.getPieces(isWhite, BitboardPosition.KHON)) != 0;
+    }
+    
+    /**
+     * ประเมินกระดานจากมุมมองของฝ่ายที่จะเดิน
+     * เมื่อใกล้นับศักดิ์หมากครบ ค่าจะลดลงทีละช่วง ฝ่ายที่ได้เปรียบจึงรีบจนก่อนนับครบ
+     */
+    private static int evaluate(Board board) {
+        int score = board.evaluate();
+        int stage = countingStage(board);
+        if (stage > 0) {
+            score = score * (COUNTING_STAGES + 1 - stage) / (COUNTING_STAGES + 1);
+        }
+        return board.isWhiteTurn() ? score : -score;
+    }
+    
+    /**
+     * หาช่วงก่อนนับศักดิ์หมากครบ (ใช้เฉพาะเมื่อฝ่ายหนึ่งเหลือขุนตัวเดียว ไม่ใช้กับการนับศักดิ์กระดาน)
+     * @return 0 ถ้ายังไม่ใกล้นับครบ, 1 ถึง COUNTING_STAGES เมื่อใกล้ขึ้นเรื่อยๆ
+     */
+    private static int countingStage(Board board) {
+        if (!CountingRules.isPiecesHonour(board.getPosition())) {
+            return 0;
+        }
+        int movesLeft = Math.max(1, board.getCountLimit() - board.getMovesSinceCapture());
+        if (movesLeft >= COUNTING_HORIZON) {
+            return 0;
+        }
+        return 1 + (COUNTING_HORIZON - 1 - movesLeft) / COUNTING_STAGE_PLIES;
+    }
+    
+    /**
+     * คีย์ของตำแหน่งในตารางแปลงตำแหน่ง: hash ของกระดานรวมกับช่วงก่อนนับครบ
+     * เพราะค่าของกระดานในแต่ละช่วงต่างกัน คะแนนจากช่วงหนึ่งจึงไม่ถูกใช้ในอีกช่วง
+     * (ไม่รวมไว้ใน Board.getHash เพื่อให้การตรวจตำแหน่งซ้ำยังเทียบข้ามช่วงได้)
+     */
+    private static long tableKey(Board board) {
+        return board.getHash() ^ Zobrist.countingStage(countingStage(board));
+    }
+    
+    /**
+     * ค่าที่ได้สูงสุดจากการกินหมาก (ค่าหมากรวมค่าตำแหน่งของหมากที่ถูกกิน)
+     */
+    private static int captureGain(Board board, int move) {
+        int to = MoveEncoding.to(move);
+        return Math.abs(PieceSquareTables.score(board.getPosition().getPiece(to), to));
+    }
+    
+    /**
+     * ย้ายการเคลื่อนที่ที่กำหนดไปไว้หน้าสุดของรายการ (ถ้ามีอยู่ในรายการ)
+     */
+    private static void moveToFront(MoveList moves, int move) {
+        if (move == MoveEncoding.NO_MOVE) {
+            return;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                moves.set(i, moves.get(0));
+                moves.set(0, move);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * แปลงคะแนนการจนให้นับระยะจากตำแหน่งนี้แทนจากราก ก่อนเก็บลงตาราง
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+    
+    /**
+     * แปลงคะแนนการจนจากตารางกลับเป็นระยะจากราก
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+    
+    /**
+     * คะแนนของตำแหน่งที่ครบกฎการนับ: เสมอ เว้นแต่ตาที่ทำให้นับครบเป็นการจน
+     * (การจนมาก่อนการนับ เหมือนกับ Board.isGameOver)
+     * @param board กระดานปัจจุบัน
+     * @param ply ระยะจากราก
+     * @return ค่าของการจนถ้าฝ่ายที่จะเดินถูกจน หรือค่าเสมอ
+     */
+    private int countingScore(Board board, int ply) {
+        if (board.getPosition().isInCheck(board.isWhiteTurn())) {
+            MoveList moves = moveLists[ply];
+            board.generateLegalMoves(moves);
+            if (moves.isEmpty()) {
+                return terminalScore(board, ply);
+            }
+        }
+        return DRAW_SCORE;
+    }
+    
+    /**
+     * คะแนนของตำแหน่งที่ฝ่ายที่จะเดินไม่มีการเคลื่อนที่ที่ถูกต้อง
+     * @param board กระดานปัจจุบัน
+     * @param ply ระยะจากราก
+     * @return ค่าของการจน (มุมมองของฝ่ายที่จะเดิน) ถ้าถูกรุก หรือค่าเสมอถ้าอับ
+     */
+    private int terminalScore(Board board, int ply) {
+        if (!board.getPosition().isInCheck(board.isWhiteTurn())) {
+            return DRAW_SCORE; // อับ
+        }
+        // ถูกจน: ฝ่ายที่จะเดินแพ้
+        return -(MATE_SCORE - ply);
     }
 }
@@ -1,19 +1,28 @@
 package model.ai;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import model.Board;
 import model.Move;
 
 /**
  * คลาสสำหรับ AI ในหมากรุกไทย
- * รองรับหลายระดับความยาก
+ * รองรับหลายระดับความยาก และการ ponder (คิดล่วงหน้าระหว่างตาของผู้เล่น)
+ * การค้นหาทำในเธรดเฉพาะของ AI บนสำเนาของกระดาน ผู้เรียกจึงไม่ถูกบล็อก (ดู search)
+ * เมธอดทั้งหมดควรเรียกจากเธรดเดียวกัน (เช่น EDT) ยกเว้น stop
  */
 public class ChessAI {
     public enum Difficulty {
         EASY(2),
         MEDIUM(3),
-        HARD(4),
-        EXPERT(5);
+        HARD(8),
+        EXPERT(10);
         
         private final int depth;
         
@@ -28,6 +37,13 @@ public class ChessAI {
     
     private AlphaBeta alphaBeta;
     private Difficulty difficulty;
+    private ExecutorService executor; // เธรดเดียวสำหรับการค้นหาทั้งหมด (การค้นหาปกติและการ ponder)
+    private Future<?> running; // งานค้นหาล่าสุดบน executor
+    private boolean ponderEnabled;
+    private CompletableFuture<SearchResult> ponderSearch; // การค้นหาระหว่างตาของผู้เล่นที่กำลังทำอยู่ หรือ null
+    private long ponderKey; // hash ของตำแหน่งที่คาดว่าผู้เล่นจะเดินไปถึง
+    private long ponderStart;
+    private long ponderTimeSaved;
     
     /**
      * สร้าง ChessAI ใหม่ด้วยระดับความยากปานกลาง
@@ -43,6 +59,11 @@ public class ChessAI {
     public ChessAI(Difficulty difficulty) {
         this.difficulty = difficulty;
         this.alphaBeta = new AlphaBeta(difficulty.getDepth());
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "ChessAI-search");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     /**
@@ -54,6 +75,77 @@ public class ChessAI {
         this.alphaBeta.setMaxDepth(difficulty.getDepth());
     }
     
+    /**
+     * ตั้งค่าขนาดของตารางแปลงตำแหน่งที่ใช้ในการค้นหา
+     * @param sizeMb ขนาดเป็นเมกะไบต์
+     */
+    public void setHashSize(int sizeMb) {
+        stopPondering();
+        finishRunning();
+        alphaBeta.setHashSize(sizeMb);
+    }
+    
+    /**
+     * ตั้งค่าจำนวนเธรดที่ใช้ค้นหา
+     * @param threads จำนวนเธรด (1 = ค้นหาเธรดเดียว)
+     */
+    public void setThreads(int threads) {
+        stopPondering();
+        finishRunning();
+        alphaBeta.setThreads(threads);
+    }
+    
+    /**
+     * เปิดหรือปิดการ ponder: หลังจาก AI เดิน จะค้นหาตำแหน่งหลังการตอบโต้ที่คาดไว้ระหว่างที่ผู้เล่นคิด
+     * @param enabled true ถ้าต้องการใช้
+     */
+    public void setPondering(boolean enabled) {
+        this.ponderEnabled = enabled;
+        if (!enabled) {
+            stopPondering();
+        }
+    }
+    
+    /**
+     * เริ่ม ponder หลังจาก AI เดินแล้ว (ไม่ทำอะไรถ้าปิดการ ponder หรือไม่มีการตอบโต้ที่คาดไว้)
+     * ค้นหาบนสำเนาของกระดานในเธรดแยก กระดานที่ส่งมาจึงใช้ต่อได้ตามปกติ
+     * @param board กระดานหลังการเคลื่อนที่ของ AI
+     */
+    public void startPondering(Board board) {
+        stopPondering();
+        if (!ponderEnabled || board.isGameOver()) {
+            return;
+        }
+        Move expected = alphaBeta.getPonderMove();
+        Board ponderBoard = board.copy();
+        if (expected == null || !ponderBoard.makeMove(expected) || ponderBoard.isGameOver()) {
+            return;
+        }
+        
+        ponderKey = ponderBoard.getHash();
+        ponderStart = System.currentTimeMillis();
+        ponderSearch = submit(ponderBoard, getLimits(), true);
+    }
+    
+    /**
+     * หยุดการ ponder ที่กำลังทำอยู่ (เช่น ตอนย้อนกลับหรือเริ่มเกมใหม่) ข้อมูลในตารางแปลงตำแหน่งยังอยู่
+     */
+    public void stopPondering() {
+        if (ponderSearch == null) {
+            return;
+        }
+        ponderSearch = null;
+        finishRunning();
+    }
+    
+    /**
+     * รับเวลารวมที่ประหยัดได้จากการ ponder ที่คาดการตอบโต้ถูก (มิลลิวินาที)
+     * @return เวลาที่ประหยัดได้
+     */
+    public long getPonderTimeSaved() {
+        return ponderTimeSaved;
+    }
+    
     /**
      * รับระดับความยากปัจจุบัน
      * @return ระดับความยากปัจจุบัน
@@ -63,28 +155,131 @@ public class ChessAI {
     }
     
     /**
-     * หาการเคลื่อนที่ที่ดีที่สุด
-     * @param board กระดานปัจจุบัน
-     * @return การเคลื่อนที่ที่ดีที่สุด หรือ null ถ้าไม่มีการเคลื่อนที่ที่ถูกต้อง
+     * รับขอบเขตการค้นหาตามระดับความยากปัจจุบัน
+     * @return ความลึกและเวลาในการคิดของระดับความยากปัจจุบัน
      */
-    public Move findBestMove(Board board) {
-        // ปรับเวลาในการคิดตามระดับความยาก
+    public SearchLimits getLimits() {
         switch (difficulty) {
             case EASY:
-                alphaBeta.setTimeLimit(1000); // 1 วินาที
-                break;
-            case MEDIUM:
-                alphaBeta.setTimeLimit(3000); // 3 วินาที
-                break;
+                return new SearchLimits(difficulty.getDepth(), 1000); // 1 วินาที
             case HARD:
-                alphaBeta.setTimeLimit(5000); // 5 วินาที
-                break;
+                return new SearchLimits(difficulty.getDepth(), 5000); // 5 วินาที
             case EXPERT:
-                alphaBeta.setTimeLimit(10000); // 10 วินาที
-                break;
+                return new SearchLimits(difficulty.getDepth(), 10000); // 10 วินาที
+            case MEDIUM:
+            default:
+                return new SearchLimits(difficulty.getDepth(), 3000); // 3 วินาที
+        }
+    }
+    
+    /**
+     * หาการเคลื่อนที่ที่ดีที่สุด (รอจนค้นหาเสร็จ)
+     * @param board กระดานปัจจุบัน
+     * @return การเคลื่อนที่ที่ดีที่สุด หรือ null ถ้าไม่มีการเคลื่อนที่ที่ถูกต้อง
+     */
+    public Move findBestMove(Board board) {
+        return search(board).join().getBestMove();
+    }
+    
+    /**
+     * เริ่มค้นหาตามระดับความยากปัจจุบันโดยไม่บล็อกผู้เรียก
+     * @param board กระดานปัจจุบัน
+     * @return ผลการค้นหาที่จะได้เมื่อค้นหาเสร็จ
+     */
+    public CompletableFuture<SearchResult> search(Board board) {
+        return search(board, getLimits());
+    }
+    
+    /**
+     * เริ่มค้นหาในเธรดของ AI บนสำเนาของกระดาน โดยไม่บล็อกผู้เรียก
+     * ถ้าตำแหน่งตรงกับที่กำลัง ponder อยู่ จะใช้การค้นหานั้นต่อ (เวลาที่ ponder ไปแล้วถือว่าได้ฟรี)
+     * การค้นหาก่อนหน้าที่ยังไม่เสร็จจะถูกหยุด
+     * ยกเลิก future ที่ได้ (cancel) เพื่อทิ้งผลและหยุดการค้นหา หรือเรียก stop เพื่อให้ได้ผลที่ค้นหาครบแล้วทันที
+     * @param board กระดานปัจจุบัน
+     * @param limits ความลึกและเวลาสูงสุด
+     * @return ผลการค้นหาที่จะได้เมื่อค้นหาเสร็จ
+     */
+    public CompletableFuture<SearchResult> search(Board board, SearchLimits limits) {
+        if (ponderSearch != null) {
+            if (board.getHash() == ponderKey) {
+                // ผู้เล่นเดินตามที่คาดไว้: ค้นหาต่อจากที่คิดไว้ โดยเริ่มนับเวลาจากตอนนี้
+                ponderTimeSaved += System.currentTimeMillis() - ponderStart;
+                alphaBeta.setTimeLimit(limits.getTimeLimit());
+                alphaBeta.ponderHit();
+                CompletableFuture<SearchResult> result = ponderSearch;
+                ponderSearch = null;
+                return result;
+            }
+            stopPondering();
+        }
+        return submit(board.copy(), limits, false);
+    }
+    
+    /**
+     * สั่งให้การค้นหาที่กำลังทำอยู่หยุดโดยเร็ว future ของการค้นหาจะได้ผลของรอบสุดท้ายที่ค้นหาครบ
+     * (เรียกจากเธรดใดก็ได้)
+     */
+    public void stop() {
+        alphaBeta.stop();
+    }
+    
+    /**
+     * ส่งงานค้นหาให้เธรดของ AI หลังจากงานก่อนหน้าหยุดแล้ว
+     * ถ้า future ถูกยกเลิกก่อนงานได้เริ่ม งานจะถูกเอาออกโดยไม่ค้นหา ถ้าเริ่มแล้วจะสั่งให้หยุด
+     */
+    private CompletableFuture<SearchResult> submit(Board searchBoard, SearchLimits limits, boolean ponder) {
+        finishRunning();
+        alphaBeta.setMaxDepth(limits.getDepth());
+        alphaBeta.setTimeLimit(limits.getTimeLimit());
+        if (ponder) {
+            alphaBeta.startPondering();
+        } else {
+            alphaBeta.startSearch();
         }
         
-        return alphaBeta.findBestMove(board);
+        CompletableFuture<SearchResult> result = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean(); // งานเริ่มค้นหาแล้ว หรือถูกยกเลิกไปก่อนเริ่ม
+        Future<?> task = executor.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return; // ถูกยกเลิกก่อนได้เริ่ม
+            }
+            try {
+                result.complete(alphaBeta.search(searchBoard));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        running = task;
+        result.whenComplete((value, error) -> {
+            if (!result.isCancelled()) {
+                return;
+            }
+            if (claimed.compareAndSet(false, true)) {
+                task.cancel(false);
+            } else {
+                alphaBeta.stop();
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * หยุดงานค้นหาที่กำลังทำอยู่ (ถ้ามี) และรอจนหยุดจริง
+     */
+    private void finishRunning() {
+        if (running == null || running.isDone()) {
+            return;
+        }
+        alphaBeta.stop();
+        try {
+            running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // ข้อผิดพลาดของการค้นหาถูกส่งให้ผู้เรียกผ่าน future ของการค้นหาแล้ว
+        } catch (CancellationException e) {
+            // งานถูกยกเลิกก่อนได้เริ่ม ไม่มีการค้นหาที่ต้องรอ
+        }
     }
     
     /**
@@ -0,0 +1,154 @@
+package model.ai;
+
+import model.bitboard.BitboardPosition;
+import model.bitboard.MoveEncoding;
+import model.bitboard.MoveList;
+import model.bitboard.PieceSquareTables;
+
+/**
+ * การเรียงลำดับการเคลื่อนที่สำหรับ Alpha-Beta เพื่อให้เกิดการตัดกิ่งเร็วที่สุด
+ * ลำดับ: การเคลื่อนที่จากตารางแปลงตำแหน่ง, การกิน (MVV-LVA) และการเลื่อนขั้น,
+ * killer move สองตัวต่อ ply แล้วจึงเป็นการเคลื่อนที่ธรรมดาตามตาราง history
+ * คะแนนถูกคำนวณครั้งเดียวต่อโหนด แล้วเลือกการเคลื่อนที่ที่ดีที่สุดที่เหลือทีละตัว
+ * (ถ้าเกิดการตัดกิ่งเร็ว ก็ไม่ต้องเรียงทั้งรายการ)
+ */
+public class MoveOrdering {
+    private static final int HASH_MOVE_SCORE = 1_000_000;
+    private static final int CAPTURE_SCORE = 200_000;
+    private static final int KILLER_SCORE = 100_000;
+    private static final int HISTORY_LIMIT = 50_000;
+
+    private final int[][] killers;   // [ply][0..1]
+    private final int[][][] history; // [ฝ่าย][ช่องเริ่มต้น][ช่องปลายทาง]
+    private final int[][] scores;    // คะแนนของการเคลื่อนที่ในแต่ละ ply
+
+    /**
+     * สร้างตัวเรียงลำดับใหม่
+     * @param maxPly จำนวน ply สูงสุดของการค้นหา
+     */
+    public MoveOrdering(int maxPly) {
+        killers = new int[maxPly][2];
+        history = new int[2][64][64];
+        scores = new int[maxPly][MoveList.MAX_MOVES];
+    }
+
+    /**
+     * เตรียมสำหรับการค้นหาครั้งใหม่: ล้าง killer และลดค่า history ลงครึ่งหนึ่ง
+     * (ข้อมูลจากตาก่อนยังมีประโยชน์อยู่บ้าง แต่ไม่ควรมีน้ำหนักเท่าข้อมูลใหม่)
+     */
+    public void newSearch() {
+        for (int[] pair : killers) {
+            pair[0] = MoveEncoding.NO_MOVE;
+            pair[1] = MoveEncoding.NO_MOVE;
+        }
+        for (int[][] side : history) {
+            for (int[] from : side) {
+                for (int to = 0; to < 64; to++) {
+                    from[to] >>= 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * ให้คะแนนการเคลื่อนที่ทั้งหมดของโหนด
+     * @param moves รายการการเคลื่อนที่
+     * @param hashMove การเคลื่อนที่จากตารางแปลงตำแหน่ง หรือ MoveEncoding.NO_MOVE
+     * @param ply ระยะจากราก
+     * @param isWhite ฝ่ายที่จะเดินเป็นฝ่ายขาวหรือไม่
+     */
+    public void score(MoveList moves, int hashMove, int ply, boolean isWhite) {
+        int[] plyScores = scores[ply];
+        int[] plyKillers = killers[ply];
+        int[][] sideHistory = history[isWhite ? BitboardPosition.WHITE : BitboardPosition.BLACK];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (move == hashMove) {
+                score = HASH_MOVE_SCORE;
+            } else if (MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move)) {
+                score = CAPTURE_SCORE + captureScore(move);
+            } else if (move == plyKillers[0]) {
+                score = KILLER_SCORE + 1;
+            } else if (move == plyKillers[1]) {
+                score = KILLER_SCORE;
+            } else {
+                score = sideHistory[MoveEncoding.from(move)][MoveEncoding.to(move)];
+            }
+            plyScores[i] = score;
+        }
+    }
+
+    /**
+     * เลือกการเคลื่อนที่ที่คะแนนสูงสุดจากที่ยังไม่ได้ค้นหา มาไว้ที่ตำแหน่ง index
+     * @param moves รายการการเคลื่อนที่
+     * @param index ลำดับที่กำลังจะค้นหา
+     * @param ply ระยะจากราก
+     * @return การเคลื่อนที่ที่ตำแหน่ง index หลังการสลับ
+     */
+    public int next(MoveList moves, int index, int ply) {
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (plyScores[i] > plyScores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            int move = moves.get(best);
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+            int score = plyScores[best];
+            plyScores[best] = plyScores[index];
+            plyScores[index] = score;
+        }
+        return moves.get(index);
+    }
+
+    /**
+     * บันทึกการเคลื่อนที่ที่ทำให้เกิดการตัดกิ่ง (เฉพาะการเคลื่อนที่ธรรมดา)
+     * @param move การเคลื่อนที่
+     * @param ply ระยะจากราก
+     * @param depth ความลึกที่เหลือ
+     * @param isWhite ฝ่ายที่เดินเป็นฝ่ายขาวหรือไม่
+     */
+    public void recordCutoff(int move, int ply, int depth, boolean isWhite) {
+        if (MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move)) {
+            return;
+        }
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        int[][] sideHistory = history[isWhite ? BitboardPosition.WHITE : BitboardPosition.BLACK];
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        sideHistory[from][to] += depth * depth;
+        if (sideHistory[from][to] > HISTORY_LIMIT) {
+            // ไม่ให้ค่า history เกินคะแนนของ killer
+            for (int[] row : sideHistory) {
+                for (int i = 0; i < 64; i++) {
+                    row[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * คะแนน MVV-LVA: หมากที่ถูกกินมีค่ามากก่อน แล้วจึงเป็นหมากที่กินมีค่าน้อยก่อน
+     * การเลื่อนขั้นนับเพิ่มเท่ากับส่วนต่างของค่าเบี้ยหงายกับเบี้ย
+     */
+    private static int captureScore(int move) {
+        int score = 0;
+        if (MoveEncoding.isCapture(move)) {
+            int attacker = MoveEncoding.moving(move);
+            int attackerValue = attacker == BitboardPosition.KHUN ? 15 : PieceSquareTables.value(attacker);
+            score += PieceSquareTables.value(MoveEncoding.captured(move)) * 16 - attackerValue;
+        }
+        if (MoveEncoding.isPromotion(move)) {
+            score += (PieceSquareTables.value(BitboardPosition.BIA_NGAI) - PieceSquareTables.value(BitboardPosition.BIA)) * 16;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,35 @@
+package model.ai;
+
+/**
+ * ขอบเขตของการค้นหาหนึ่งครั้ง: ความลึกสูงสุดและเวลาสูงสุด
+ */
+public class SearchLimits {
+    private final int depth;
+    private final long timeLimit;
+
+    /**
+     * สร้างขอบเขตการค้นหาใหม่
+     * @param depth ความลึกสูงสุด
+     * @param timeLimit เวลาสูงสุด (มิลลิวินาที)
+     */
+    public SearchLimits(int depth, long timeLimit) {
+        this.depth = depth;
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * รับความลึกสูงสุด
+     * @return ความลึกสูงสุด
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * รับเวลาสูงสุด
+     * @return เวลาสูงสุด (มิลลิวินาที)
+     */
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+}
@@ -0,0 +1,52 @@
+package model.ai;
+
+import model.Move;
+
+/**
+ * ผลของการค้นหาหนึ่งครั้ง (ของรอบ iterative deepening สุดท้ายที่ค้นหาครบ)
+ */
+public class SearchResult {
+    private final Move bestMove;
+    private final Move ponderMove;
+    private final int score;
+    private final SearchStats stats;
+
+    SearchResult(Move bestMove, Move ponderMove, int score, SearchStats stats) {
+        this.bestMove = bestMove;
+        this.ponderMove = ponderMove;
+        this.score = score;
+        this.stats = stats;
+    }
+
+    /**
+     * รับการเคลื่อนที่ที่ดีที่สุด
+     * @return การเคลื่อนที่ที่ดีที่สุด หรือ null ถ้าไม่มีการเคลื่อนที่ที่ถูกต้อง
+     */
+    public Move getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * รับการตอบโต้ของฝ่ายตรงข้ามที่คาดไว้ (การเคลื่อนที่ที่สองของแนวหลัก)
+     * @return การเคลื่อนที่ที่คาดไว้ หรือ null ถ้าไม่มี
+     */
+    public Move getPonderMove() {
+        return ponderMove;
+    }
+
+    /**
+     * รับคะแนนจากมุมมองของฝ่ายที่จะเดิน
+     * @return คะแนน
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * รับสถิติของการค้นหา (รวมทุกเธรด)
+     * @return สถิติของการค้นหา
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,247 @@
+package model.ai;
+
+import java.util.Collections;
+import java.util.List;
+import model.Move;
+
+/**
+ * สถิติของการค้นหาหนึ่งครั้ง สำหรับติดตามประสิทธิภาพของการค้นหา
+ * ระหว่างการค้นหา AlphaBeta นับค่าลงในออบเจ็กต์ของแต่ละเธรดโดยตรง
+ * แล้วรวมทุกเธรดเป็นสำเนาใหม่ที่ไม่เปลี่ยนแปลงอีกเมื่อค้นหาเสร็จ
+ */
+public class SearchStats {
+    long nodes;
+    long quiescenceNodes;
+    long betaCutoffs;
+    long firstMoveCutoffs;
+    long hashProbes;
+    long hashHits;
+    long nullMoveCutoffs;
+    long reducedMoves;
+    long reductionResearches;
+    long futilityPrunes;
+    long checkExtensions;
+    long singleReplyExtensions;
+    long singularExtensions;
+    int depth;
+    int selectiveDepth;
+    double branchingFactor;
+    long elapsed;
+    List<Move> principalVariation = Collections.emptyList();
+
+    /**
+     * ล้างค่าทั้งหมดก่อนเริ่มการค้นหาใหม่
+     */
+    void reset() {
+        nodes = 0;
+        quiescenceNodes = 0;
+        betaCutoffs = 0;
+        firstMoveCutoffs = 0;
+        hashProbes = 0;
+        hashHits = 0;
+        nullMoveCutoffs = 0;
+        reducedMoves = 0;
+        reductionResearches = 0;
+        futilityPrunes = 0;
+        checkExtensions = 0;
+        singleReplyExtensions = 0;
+        singularExtensions = 0;
+        depth = 0;
+        selectiveDepth = 0;
+        branchingFactor = 0;
+        elapsed = 0;
+        principalVariation = Collections.emptyList();
+    }
+
+    /**
+     * สร้างสำเนาของสถิติ
+     * @return สำเนา
+     */
+    SearchStats copy() {
+        SearchStats copy = new SearchStats();
+        copy.nodes = nodes;
+        copy.quiescenceNodes = quiescenceNodes;
+        copy.betaCutoffs = betaCutoffs;
+        copy.firstMoveCutoffs = firstMoveCutoffs;
+        copy.hashProbes = hashProbes;
+        copy.hashHits = hashHits;
+        copy.nullMoveCutoffs = nullMoveCutoffs;
+        copy.reducedMoves = reducedMoves;
+        copy.reductionResearches = reductionResearches;
+        copy.futilityPrunes = futilityPrunes;
+        copy.checkExtensions = checkExtensions;
+        copy.singleReplyExtensions = singleReplyExtensions;
+        copy.singularExtensions = singularExtensions;
+        copy.depth = depth;
+        copy.selectiveDepth = selectiveDepth;
+        copy.branchingFactor = branchingFactor;
+        copy.elapsed = elapsed;
+        copy.principalVariation = principalVariation;
+        return copy;
+    }
+
+    /**
+     * บวกตัวนับของอีกเธรดเข้ามา (ความลึก แนวหลัก และเวลาใช้ของเธรดหลัก ส่วนความลึกสูงสุดใช้ค่ามากที่สุด)
+     * @param other สถิติของอีกเธรด
+     */
+    void add(SearchStats other) {
+        nodes += other.nodes;
+        quiescenceNodes += other.quiescenceNodes;
+        betaCutoffs += other.betaCutoffs;
+        firstMoveCutoffs += other.firstMoveCutoffs;
+        hashProbes += other.hashProbes;
+        hashHits += other.hashHits;
+        nullMoveCutoffs += other.nullMoveCutoffs;
+        reducedMoves += other.reducedMoves;
+        reductionResearches += other.reductionResearches;
+        futilityPrunes += other.futilityPrunes;
+        checkExtensions += other.checkExtensions;
+        singleReplyExtensions += other.singleReplyExtensions;
+        singularExtensions += other.singularExtensions;
+        selectiveDepth = Math.max(selectiveDepth, other.selectiveDepth);
+    }
+
+    /**
+     * รับจำนวนโหนดทั้งหมด (รวม quiescence และทุกเธรด)
+     * @return จำนวนโหนด
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * รับจำนวนโหนดของ quiescence search
+     * @return จำนวนโหนด
+     */
+    public long getQuiescenceNodes() {
+        return quiescenceNodes;
+    }
+
+    /**
+     * รับจำนวนโหนดต่อวินาที
+     * @return จำนวนโหนดต่อวินาที
+     */
+    public long getNodesPerSecond() {
+        return nodes * 1000 / Math.max(1, elapsed);
+    }
+
+    /**
+     * รับความลึกของรอบสุดท้ายที่ค้นหาครบ
+     * @return ความลึก
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * รับระยะจากรากที่ลึกที่สุดที่ค้นหาถึง (รวมการขยายความลึกและ quiescence)
+     * @return ความลึกสูงสุด
+     */
+    public int getSelectiveDepth() {
+        return selectiveDepth;
+    }
+
+    /**
+     * รับ effective branching factor: อัตราส่วนจำนวนโหนดของรอบสุดท้ายต่อรอบก่อนหน้า (ของเธรดหลัก)
+     * @return effective branching factor หรือ 0 ถ้าค้นหาไม่ถึงสองรอบ
+     */
+    public double getBranchingFactor() {
+        return branchingFactor;
+    }
+
+    /**
+     * รับสัดส่วนของการตัดกิ่งที่เกิดจากการเคลื่อนที่แรก (ยิ่งใกล้ 1 การเรียงลำดับยิ่งดี)
+     * @return สัดส่วนระหว่าง 0 ถึง 1
+     */
+    public double getFirstMoveCutoffRate() {
+        return betaCutoffs == 0 ? 0 : (double) firstMoveCutoffs / betaCutoffs;
+    }
+
+    /**
+     * รับสัดส่วนการค้นหาในตารางแปลงตำแหน่งที่พบข้อมูล
+     * @return สัดส่วนระหว่าง 0 ถึง 1
+     */
+    public double getHashHitRate() {
+        return hashProbes == 0 ? 0 : (double) hashHits / hashProbes;
+    }
+
+    /**
+     * รับเวลาที่ใช้ค้นหา
+     * @return เวลา (มิลลิวินาที)
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * รับแนวหลัก (principal variation) ของรอบสุดท้ายที่ค้นหาครบ
+     * @return รายการการเคลื่อนที่ (แก้ไขไม่ได้)
+     */
+    public List<Move> getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    /**
+     * รับจำนวนครั้งที่ตัดกิ่งด้วย null move
+     * @return จำนวนครั้ง
+     */
+    public long getNullMoveCutoffs() {
+        return nullMoveCutoffs;
+    }
+
+    /**
+     * รับจำนวนการเคลื่อนที่ที่ถูกลดความลึก (late-move reductions)
+     * @return จำนวนครั้ง
+     */
+    public long getReducedMoves() {
+        return reducedMoves;
+    }
+
+    /**
+     * รับจำนวนการเคลื่อนที่ที่ถูกลดความลึกแล้วต้องค้นหาใหม่เต็มความลึก
+     * @return จำนวนครั้ง
+     */
+    public long getReductionResearches() {
+        return reductionResearches;
+    }
+
+    /**
+     * รับจำนวนการเคลื่อนที่ที่ถูกข้ามด้วย futility pruning
+     * @return จำนวนครั้ง
+     */
+    public long getFutilityPrunes() {
+        return futilityPrunes;
+    }
+
+    /**
+     * รับจำนวนการขยายความลึกเมื่อรุก
+     * @return จำนวนครั้ง
+     */
+    public long getCheckExtensions() {
+        return checkExtensions;
+    }
+
+    /**
+     * รับจำนวนการขยายความลึกเมื่อมีทางเดินเดียว
+     * @return จำนวนครั้ง
+     */
+    public long getSingleReplyExtensions() {
+        return singleReplyExtensions;
+    }
+
+    /**
+     * รับจำนวนการขยายความลึกของ singular move
+     * @return จำนวนครั้ง
+     */
+    public long getSingularExtensions() {
+        return singularExtensions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ความลึก %d/%d, %d โหนด (quiescence %d), %d โหนด/วินาที, EBF %.2f, "
+                             + "ตัดกิ่งที่การเคลื่อนที่แรก %.1f%%, พบในตาราง %.1f%%, %d ms",
+                             depth, selectiveDepth, nodes, quiescenceNodes, getNodesPerSecond(), branchingFactor,
+                             getFirstMoveCutoffRate() * 100, getHashHitRate() * 100, elapsed);
+    }
+}
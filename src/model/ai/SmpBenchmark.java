@@ -0,0 +1,84 @@
+package model.ai;
+
+import model.Board;
+import model.Move;
+
+/**
+ * วัดการขยายตัวของการค้นหาหลายเธรด (Lazy SMP): เวลาที่ใช้ค้นหาถึงความลึกที่กำหนด
+ * เมื่อใช้จำนวนเธรดต่างๆ เทียบกับการค้นหาเธรดเดียว
+ * ตัวเลือก: ความลึก (ค่าเริ่มต้น 10) และจำนวนเธรดสูงสุด (ค่าเริ่มต้นเท่ากับจำนวนโปรเซสเซอร์)
+ */
+public class SmpBenchmark {
+    private static final int OPENING_PLIES = 10; // จำนวนตาที่เดินจากตำแหน่งเริ่มต้นเพื่อสร้างตำแหน่งกลางเกม
+    private static final int OPENING_DEPTH = 4;
+
+    /**
+     * รันการวัดและแสดงเวลาและอัตราเร่งของแต่ละจำนวนเธรด
+     * @param args อาร์กิวเมนต์จากบรรทัดคำสั่ง
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Board[] positions = {new Board(), middleGame()};
+        run(positions, depth, 1, false); // อุ่นเครื่อง JIT ก่อน ไม่ให้การวัดครั้งแรกเสียเปรียบ
+
+        long baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            long elapsed = run(positions, depth, threads, true);
+            if (threads == 1) {
+                baseline = elapsed;
+            }
+            System.out.println("SMP: " + threads + " เธรด ถึงความลึก " + depth + " ใน " + elapsed / 1_000_000 + " ms"
+                               + String.format(" อัตราเร่ง %.2f เท่า", (double) baseline / Math.max(1, elapsed)));
+        }
+    }
+
+    /**
+     * ค้นหาทุกตำแหน่งจนถึงความลึกที่กำหนด ด้วยตารางแปลงตำแหน่งใหม่
+     * @param report แสดงสถิติของแต่ละตำแหน่งหรือไม่
+     * @return เวลารวม (นาโนวินาที)
+     */
+    private static long run(Board[] positions, int depth, int threads, boolean report) {
+        long elapsed = 0;
+        for (Board position : positions) {
+            AlphaBeta search = new AlphaBeta(depth);
+            search.setTimeLimit(Long.MAX_VALUE);
+            search.setThreads(threads);
+            long start = System.nanoTime();
+            SearchResult result = search.search(position.copy());
+            elapsed += System.nanoTime() - start;
+            if (report) {
+                System.out.println("SMP: " + threads + " เธรด " + result.getStats());
+            }
+            search.setThreads(1);
+        }
+        return elapsed;
+    }
+
+    /**
+     * เพิ่มจำนวนเธรดทีละสองเท่า และวัดที่จำนวนเธรดสูงสุดเสมอ
+     */
+    private static int nextThreadCount(int threads, int maxThreads) {
+        if (threads == maxThreads) {
+            return maxThreads + 1;
+        }
+        return Math.min(threads * 2, maxThreads);
+    }
+
+    /**
+     * สร้างตำแหน่งกลางเกมโดยให้ AI เดินจากตำแหน่งเริ่มต้น (ผลเหมือนเดิมทุกครั้ง)
+     */
+    private static Board middleGame() {
+        Board board = new Board();
+        AlphaBeta search = new AlphaBeta(OPENING_DEPTH);
+        search.setTimeLimit(Long.MAX_VALUE);
+        for (int ply = 0; ply < OPENING_PLIES; ply++) {
+            Move move = search.findBestMove(board);
+            if (move == null) {
+                break;
+            }
+            board.makeMove(move);
+        }
+        return board;
+    }
+}
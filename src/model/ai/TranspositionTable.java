@@ -0,0 +1,181 @@
+package model.ai;
+
+import java.util.Arrays;
+import model.bitboard.MoveEncoding;
+
+/**
+ * ตารางแปลงตำแหน่ง (transposition table) สำหรับเก็บผลการค้นหาของตำแหน่งที่เคยค้นหาแล้ว
+ * แต่ละรายการเก็บเป็น long สองตัว: key (XOR กับข้อมูล) และข้อมูลที่บีบอัดไว้
+ * <pre>
+ * บิต 0-18  การเคลื่อนที่ที่ดีที่สุด (MoveEncoding)
+ * บิต 19-25 ความลึก
+ * บิต 26-27 ชนิดของขอบเขต (LOWER, UPPER, EXACT)
+ * บิต 28-35 อายุ (ครั้งของการค้นหาที่บันทึก)
+ * บิต 36-55 คะแนน + SCORE_OFFSET
+ * </pre>
+ * รายการถูกจัดเป็นกลุ่ม (bucket) กลุ่มละ BUCKET_SIZE รายการ ตอนบันทึกจะแทนที่รายการของตำแหน่งเดิม
+ * หรือรายการที่เก่าที่สุดและตื้นที่สุดในกลุ่ม ข้อมูลจึงอยู่ข้ามการค้นหาหลายตาในเกมเดียวกันได้
+ * การ XOR key กับข้อมูลทำให้ตรวจพบรายการที่ถูกเขียนทับไม่ครบได้ โดยไม่ต้องใช้ล็อก
+ */
+public class TranspositionTable {
+    public static final int LOWER = 1; // คะแนนจริงมากกว่าหรือเท่ากับคะแนนที่เก็บ (beta cutoff)
+    public static final int UPPER = 2; // คะแนนจริงน้อยกว่าหรือเท่ากับคะแนนที่เก็บ (ไม่มีการเคลื่อนที่ใดเกิน alpha)
+    public static final int EXACT = 3; // คะแนนจริง
+    public static final long NO_ENTRY = 0L;
+
+    private static final int BUCKET_SIZE = 4;
+    private static final int ENTRY_BYTES = 16;
+
+    private static final int DEPTH_SHIFT = 19;
+    private static final int BOUND_SHIFT = 26;
+    private static final int AGE_SHIFT = 28;
+    private static final int SCORE_SHIFT = 36;
+    private static final long MOVE_MASK = (1L << DEPTH_SHIFT) - 1;
+    private static final int SCORE_OFFSET = 1 << 19;
+
+    private long[] keys;
+    private long[] data;
+    private int bucketMask;
+    private int age;
+
+    /**
+     * สร้างตารางใหม่
+     * @param sizeMb ขนาดของตารางโดยประมาณ (เมกะไบต์)
+     */
+    public TranspositionTable(int sizeMb) {
+        resize(sizeMb);
+    }
+
+    /**
+     * เปลี่ยนขนาดของตาราง (ข้อมูลเดิมจะถูกล้าง)
+     * @param sizeMb ขนาดของตารางโดยประมาณ (เมกะไบต์)
+     */
+    public void resize(int sizeMb) {
+        long entries = Math.max(BUCKET_SIZE, (long) sizeMb * 1024 * 1024 / ENTRY_BYTES);
+        int buckets = Integer.highestOneBit((int) Math.min(entries / BUCKET_SIZE, 1 << 26));
+        keys = new long[buckets * BUCKET_SIZE];
+        data = new long[buckets * BUCKET_SIZE];
+        bucketMask = buckets - 1;
+        age = 0;
+    }
+
+    /**
+     * ล้างข้อมูลทั้งหมดในตาราง (เช่น ตอนเริ่มเกมใหม่)
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+        age = 0;
+    }
+
+    /**
+     * เริ่มการค้นหาครั้งใหม่ รายการจากการค้นหาครั้งก่อนจะถูกแทนที่ได้ก่อน
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    /**
+     * ค้นหาข้อมูลของตำแหน่ง
+     * @param key ค่า hash ของตำแหน่ง
+     * @return ข้อมูลที่บีบอัดไว้ หรือ NO_ENTRY ถ้าไม่พบ
+     */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int i = base; i < base + BUCKET_SIZE; i++) {
+            long entry = data[i];
+            if ((keys[i] ^ entry) == key && entry != NO_ENTRY) {
+                return entry;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * บันทึกผลการค้นหาของตำแหน่ง
+     * @param key ค่า hash ของตำแหน่ง
+     * @param depth ความลึกที่ค้นหา
+     * @param bound ชนิดของขอบเขต (LOWER, UPPER หรือ EXACT)
+     * @param score คะแนน
+     * @param move การเคลื่อนที่ที่ดีที่สุด หรือ MoveEncoding.NO_MOVE
+     */
+    public void store(long key, int depth, int bound, int score, int move) {
+        int base = bucket(key);
+        int target = base;
+        int worst = Integer.MAX_VALUE;
+        for (int i = base; i < base + BUCKET_SIZE; i++) {
+            long entry = data[i];
+            if ((keys[i] ^ entry) == key) {
+                // ตำแหน่งเดิม: เก็บการเคลื่อนที่เดิมไว้ถ้าครั้งนี้ไม่มี และไม่แทนที่ผลที่ลึกกว่าจากการค้นหาเดียวกัน
+                if (move == MoveEncoding.NO_MOVE) {
+                    move = move(entry);
+                }
+                if (bound != EXACT && age(entry) == age && depth(entry) > depth) {
+                    return;
+                }
+                target = i;
+                break;
+            }
+            // รายการจากการค้นหาครั้งก่อนถูกแทนที่ก่อน จากนั้นเลือกรายการที่ตื้นที่สุด
+            int priority = depth(entry) - (age(entry) == age ? 0 : 256);
+            if (entry == NO_ENTRY) {
+                priority = Integer.MIN_VALUE;
+            }
+            if (priority < worst) {
+                worst = priority;
+                target = i;
+            }
+        }
+        long entry = (move & MOVE_MASK)
+                   | ((long) Math.min(depth, 127) << DEPTH_SHIFT)
+                   | ((long) bound << BOUND_SHIFT)
+                   | ((long) age << AGE_SHIFT)
+                   | ((long) (score + SCORE_OFFSET) << SCORE_SHIFT);
+        keys[target] = key ^ entry;
+        data[target] = entry;
+    }
+
+    /**
+     * รับการเคลื่อนที่ที่ดีที่สุดจากข้อมูล
+     * @param entry ข้อมูลที่บีบอัดไว้
+     * @return การเคลื่อนที่ หรือ MoveEncoding.NO_MOVE
+     */
+    public static int move(long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    /**
+     * รับความลึกจากข้อมูล
+     * @param entry ข้อมูลที่บีบอัดไว้
+     * @return ความลึก
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0x7F;
+    }
+
+    /**
+     * รับชนิดของขอบเขตจากข้อมูล
+     * @param entry ข้อมูลที่บีบอัดไว้
+     * @return LOWER, UPPER หรือ EXACT
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * รับคะแนนจากข้อมูล
+     * @param entry ข้อมูลที่บีบอัดไว้
+     * @return คะแนน
+     */
+    public static int score(long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & 0xFFFFF) - SCORE_OFFSET;
+    }
+
+    private static int age(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xFF;
+    }
+
+    private int bucket(long key) {
+        return ((int) key & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,123 @@
+package model.bitboard;
+
+/**
+ * ตารางการโจมตีที่คำนวณไว้ล่วงหน้าสำหรับหมากที่เดินระยะสั้นในหมากรุกไทย
+ * แต่ละตารางใช้ช่อง (และฝ่ายสำหรับโคนและเบี้ย) เป็นดัชนี และให้บิตบอร์ดของช่องเป้าหมายในครั้งเดียว
+ */
+public final class Attacks {
+    /** ขุน: 1 ช่องในทุกทิศทาง */
+    public static final long[] KHUN = new long[64];
+    /** เม็ดและเบี้ยหงาย: 1 ช่องในแนวทแยง */
+    public static final long[] MET = new long[64];
+    /** ม้า: รูปตัว L */
+    public static final long[] MA = new long[64];
+    /** โคน: 1 ช่องในแนวทแยง และ 1 ช่องตรงไปข้างหน้า [ฝ่าย][ช่อง] */
+    public static final long[][] KHON = new long[2][64];
+    /** เบี้ย: ช่องที่กินได้ในแนวทแยงไปข้างหน้า [ฝ่าย][ช่อง] */
+    public static final long[][] BIA_CAPTURES = new long[2][64];
+    /** เบี้ย: ช่องที่เดินตรงไปข้างหน้า [ฝ่าย][ช่อง] */
+    public static final long[][] BIA_PUSHES = new long[2][64];
+    /** ช่องที่อยู่ระหว่างสองช่องในแถวหรือคอลัมน์เดียวกัน (ไม่รวมสองช่องนั้น) [ช่อง][ช่อง] ใช้กับแนวของเรือ */
+    public static final long[][] BETWEEN = new long[64][64];
+
+    private static final int[][] KING_STEPS = {
+        {-1, -1}, {-1, 0}, {-1, 1},
+        {0, -1},           {0, 1},
+        {1, -1},  {1, 0},  {1, 1}
+    };
+    private static final int[][] DIAGONAL_STEPS = {
+        {-1, -1}, {-1, 1},
+        {1, -1},  {1, 1}
+    };
+    private static final int[][] KNIGHT_STEPS = {
+        {-2, -1}, {-2, 1},
+        {-1, -2}, {-1, 2},
+        {1, -2},  {1, 2},
+        {2, -1},  {2, 1}
+    };
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int row = BitboardPosition.row(square);
+            int col = BitboardPosition.col(square);
+
+            KHUN[square] = steps(row, col, KING_STEPS);
+            MET[square] = steps(row, col, DIAGONAL_STEPS);
+            MA[square] = steps(row, col, KNIGHT_STEPS);
+
+            for (int side = 0; side < 2; side++) {
+                // ขาวเดินขึ้น (ลด row), ดำเดินลง (เพิ่ม row)
+                int forward = side == BitboardPosition.WHITE ? -1 : 1;
+                long push = steps(row, col, new int[][] {{forward, 0}});
+                KHON[side][square] = MET[square] | push;
+                BIA_PUSHES[side][square] = push;
+                BIA_CAPTURES[side][square] = steps(row, col, new int[][] {{forward, -1}, {forward, 1}});
+            }
+        }
+
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                BETWEEN[from][to] = between(from, to);
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    /**
+     * รับตารางของโคนสำหรับฝ่ายที่กำหนด
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return ตารางของโคน
+     */
+    public static long[] khon(boolean isWhite) {
+        return KHON[isWhite ? BitboardPosition.WHITE : BitboardPosition.BLACK];
+    }
+
+    /**
+     * รับตารางการกินของเบี้ยสำหรับฝ่ายที่กำหนด
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return ตารางการกินของเบี้ย
+     */
+    public static long[] biaCaptures(boolean isWhite) {
+        return BIA_CAPTURES[isWhite ? BitboardPosition.WHITE : BitboardPosition.BLACK];
+    }
+
+    /**
+     * รับตารางการเดินของเบี้ยสำหรับฝ่ายที่กำหนด
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return ตารางการเดินของเบี้ย
+     */
+    public static long[] biaPushes(boolean isWhite) {
+        return BIA_PUSHES[isWhite ? BitboardPosition.WHITE : BitboardPosition.BLACK];
+    }
+
+    private static long between(int from, int to) {
+        int fromRow = BitboardPosition.row(from);
+        int fromCol = BitboardPosition.col(from);
+        int toRow = BitboardPosition.row(to);
+        int toCol = BitboardPosition.col(to);
+        if (from == to || (fromRow != toRow && fromCol != toCol)) {
+            return 0L;
+        }
+        int dRow = Integer.signum(toRow - fromRow);
+        int dCol = Integer.signum(toCol - fromCol);
+        long mask = 0L;
+        for (int r = fromRow + dRow, c = fromCol + dCol; r != toRow || c != toCol; r += dRow, c += dCol) {
+            mask |= 1L << BitboardPosition.square(r, c);
+        }
+        return mask;
+    }
+
+    private static long steps(int row, int col, int[][] offsets) {
+        long mask = 0L;
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = col + offset[1];
+            if (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                mask |= 1L << BitboardPosition.square(r, c);
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,392 @@
+package model.bitboard;
+
+import java.util.Arrays;
+
+/**
+ * คลาสสำหรับตำแหน่งหมากบนกระดานแบบบิตบอร์ด
+ * ใช้ long หนึ่งตัวต่อหนึ่งฝ่ายและหนึ่งประเภทหมาก โดยบิตที่ (row * 8 + col) แทนช่องบนกระดาน
+ * และเก็บกระดานแบบ byte หนึ่งช่องต่อหนึ่งรหัสหมากคู่กันไป เพื่อให้รู้หมากในช่องได้ทันทีและคัดลอกตำแหน่งได้ถูก
+ */
+public class BitboardPosition {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int KHUN = 0;     // ขุน
+    public static final int MET = 1;      // เม็ด
+    public static final int KHON = 2;     // โคน
+    public static final int MA = 3;       // ม้า
+    public static final int RUEA = 4;     // เรือ
+    public static final int BIA = 5;      // เบี้ย
+    public static final int BIA_NGAI = 6; // เบี้ยหงาย
+    public static final int PIECE_TYPES = 7;
+    public static final int NONE = -1;
+    public static final int NO_SQUARE = -1;
+
+    /** รหัสหมากแบบ byte: บิต 0-2 = ประเภทหมาก + 1, บิต 3 = หมากดำ, 0 = ช่องว่าง */
+    public static final byte EMPTY = 0;
+    private static final int BLACK_FLAG = 8;
+
+    private final long[][] pieces;
+    private final long[] occupancy;
+    private long occupied;
+    private final int[] kingSquares; // ช่องของขุนแต่ละฝ่าย (NO_SQUARE ถ้าไม่มี)
+    private final byte[] squares;    // รหัสหมากของแต่ละช่อง
+    private long hash;               // Zobrist hash ของหมากบนกระดาน
+    private int score;               // ค่าหมากรวมค่าตำแหน่ง (บวก = ขาวได้เปรียบ)
+
+    /**
+     * สร้างตำแหน่งว่างใหม่
+     */
+    public BitboardPosition() {
+        pieces = new long[2][PIECE_TYPES];
+        occupancy = new long[2];
+        occupied = 0L;
+        kingSquares = new int[] {NO_SQUARE, NO_SQUARE};
+        squares = new byte[64];
+    }
+
+    /**
+     * สร้างสำเนาของตำแหน่งที่กำหนด
+     * @param other ตำแหน่งต้นฉบับ
+     */
+    public BitboardPosition(BitboardPosition other) {
+        this();
+        copyFrom(other);
+    }
+
+    /**
+     * คัดลอกหมากทั้งหมดจากตำแหน่งอื่นมาแทนที่ตำแหน่งนี้ โดยไม่สร้างออบเจ็กต์ใหม่
+     * @param other ตำแหน่งต้นฉบับ
+     */
+    public void copyFrom(BitboardPosition other) {
+        for (int side = 0; side < 2; side++) {
+            System.arraycopy(other.pieces[side], 0, pieces[side], 0, PIECE_TYPES);
+        }
+        System.arraycopy(other.occupancy, 0, occupancy, 0, 2);
+        System.arraycopy(other.kingSquares, 0, kingSquares, 0, 2);
+        System.arraycopy(other.squares, 0, squares, 0, 64);
+        occupied = other.occupied;
+        hash = other.hash;
+        score = other.score;
+    }
+
+    /**
+     * ล้างหมากทั้งหมดออกจากกระดาน
+     */
+    public void clear() {
+        for (int side = 0; side < 2; side++) {
+            for (int type = 0; type < PIECE_TYPES; type++) {
+                pieces[side][type] = 0L;
+            }
+            occupancy[side] = 0L;
+            kingSquares[side] = NO_SQUARE;
+        }
+        occupied = 0L;
+        hash = 0L;
+        score = 0;
+        Arrays.fill(squares, EMPTY);
+    }
+
+    /**
+     * วางหมากลงบนช่องที่ว่างอยู่
+     * @param square ช่อง (0-63)
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @param type ประเภทหมาก
+     */
+    public void put(int square, boolean isWhite, int type) {
+        long bit = 1L << square;
+        int side = side(isWhite);
+        pieces[side][type] |= bit;
+        occupancy[side] |= bit;
+        occupied |= bit;
+        squares[square] = pieceCode(isWhite, type);
+        hash ^= Zobrist.piece(squares[square], square);
+        score += PieceSquareTables.score(squares[square], square);
+        if (type == KHUN) {
+            kingSquares[side] = square;
+        }
+    }
+
+    /**
+     * วางหมากตามรหัสหมากแบบ byte ลงบนช่องที่ว่างอยู่
+     * @param square ช่อง (0-63)
+     * @param piece รหัสหมาก (ไม่ใช่ EMPTY)
+     */
+    public void put(int square, byte piece) {
+        put(square, isWhitePiece(piece), pieceType(piece));
+    }
+
+    /**
+     * นำหมากออกจากช่อง (ถ้ามี)
+     * @param square ช่อง (0-63)
+     */
+    public void remove(int square) {
+        long bit = 1L << square;
+        if ((occupied & bit) == 0) {
+            return;
+        }
+        byte piece = squares[square];
+        int side = isWhitePiece(piece) ? WHITE : BLACK;
+        int type = pieceType(piece);
+        if (type == KHUN) {
+            kingSquares[side] = NO_SQUARE;
+        }
+        long keep = ~bit;
+        pieces[side][type] &= keep;
+        occupancy[side] &= keep;
+        occupied &= keep;
+        hash ^= Zobrist.piece(piece, square);
+        score -= PieceSquareTables.score(piece, square);
+        squares[square] = EMPTY;
+    }
+
+    /**
+     * ย้ายหมากจากช่องหนึ่งไปยังอีกช่องหนึ่ง โดยนำหมากที่ช่องปลายทางออก (ถ้ามี)
+     * @param from ช่องเริ่มต้น
+     * @param to ช่องปลายทาง
+     * @param newType ประเภทหมากหลังการเคลื่อนที่ (ต่างจากเดิมเมื่อเบี้ยเลื่อนขั้น)
+     */
+    public void move(int from, int to, int newType) {
+        boolean isWhite = isWhite(from);
+        remove(to);
+        remove(from);
+        put(to, isWhite, newType);
+    }
+
+    /**
+     * ทำการเคลื่อนที่ที่เข้ารหัสแล้วบนบิตบอร์ด (ไม่ตรวจสอบความถูกต้อง)
+     * @param move การเคลื่อนที่ที่เข้ารหัสด้วย MoveEncoding
+     */
+    public void makeMove(int move) {
+        move(MoveEncoding.from(move), MoveEncoding.to(move), MoveEncoding.movedType(move));
+    }
+
+    /**
+     * ย้อนกลับการเคลื่อนที่ที่เข้ารหัสแล้วซึ่งเพิ่งทำไป
+     * @param move การเคลื่อนที่ที่เข้ารหัสด้วย MoveEncoding
+     */
+    public void unmakeMove(int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        boolean isWhite = isWhite(to);
+        move(to, from, MoveEncoding.moving(move));
+        if (MoveEncoding.isCapture(move)) {
+            put(to, !isWhite, MoveEncoding.captured(move));
+        }
+    }
+
+    /**
+     * รับประเภทหมากที่ช่องที่กำหนด
+     * @param square ช่อง (0-63)
+     * @return ประเภทหมาก หรือ NONE ถ้าช่องว่าง
+     */
+    public int getType(int square) {
+        return pieceType(squares[square]);
+    }
+
+    /**
+     * รับรหัสหมากแบบ byte ที่ช่องที่กำหนด
+     * @param square ช่อง (0-63)
+     * @return รหัสหมาก หรือ EMPTY ถ้าช่องว่าง
+     */
+    public byte getPiece(int square) {
+        return squares[square];
+    }
+
+    /**
+     * รับ Zobrist hash ของหมากบนกระดาน (ไม่รวมฝ่ายที่จะเดิน) ซึ่งอัปเดตทุกครั้งที่วางหรือนำหมากออก
+     * @return ค่า hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * รับค่าหมากรวมค่าตำแหน่งของทั้งกระดาน ซึ่งอัปเดตทุกครั้งที่วางหรือนำหมากออก
+     * @return คะแนน (บวกถ้าฝ่ายขาวได้เปรียบ, ลบถ้าฝ่ายดำได้เปรียบ)
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * ตรวจสอบว่าช่องว่างหรือไม่
+     * @param square ช่อง (0-63)
+     * @return true ถ้าช่องว่าง
+     */
+    public boolean isEmpty(int square) {
+        return (occupied & (1L << square)) == 0;
+    }
+
+    /**
+     * ตรวจสอบว่าช่องมีหมากของฝ่ายที่กำหนดหรือไม่
+     * @param square ช่อง (0-63)
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return true ถ้ามีหมากของฝ่ายที่กำหนด
+     */
+    public boolean isOccupiedBy(int square, boolean isWhite) {
+        return (occupancy[side(isWhite)] & (1L << square)) != 0;
+    }
+
+    /**
+     * ตรวจสอบว่าหมากที่ช่องเป็นหมากขาวหรือไม่ (ช่องต้องไม่ว่าง)
+     * @param square ช่อง (0-63)
+     * @return true ถ้าเป็นหมากขาว
+     */
+    public boolean isWhite(int square) {
+        return (occupancy[WHITE] & (1L << square)) != 0;
+    }
+
+    /**
+     * รับบิตบอร์ดของหมากประเภทที่กำหนดของฝ่ายที่กำหนด
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param type ประเภทหมาก
+     * @return บิตบอร์ด
+     */
+    public long getPieces(boolean isWhite, int type) {
+        return pieces[side(isWhite)][type];
+    }
+
+    /**
+     * รับบิตบอร์ดของหมากทั้งหมดของฝ่ายที่กำหนด
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return บิตบอร์ด
+     */
+    public long getOccupancy(boolean isWhite) {
+        return occupancy[side(isWhite)];
+    }
+
+    /**
+     * รับบิตบอร์ดของช่องที่มีหมากทั้งหมด
+     * @return บิตบอร์ด
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * รับช่องของขุนฝ่ายที่กำหนด
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return ช่องของขุน หรือ NO_SQUARE ถ้าไม่มีขุน
+     */
+    public int getKingSquare(boolean isWhite) {
+        return kingSquares[side(isWhite)];
+    }
+
+    /**
+     * รับบิตบอร์ดของหมากฝ่ายที่กำหนดที่โจมตีช่องที่กำหนด
+     * คำนวณย้อนกลับจากช่องเป้าหมายด้วยตารางการโจมตี แทนการสร้างการเคลื่อนที่ของหมากทุกตัว
+     * @param square ช่องเป้าหมาย
+     * @param byWhite หมากผู้โจมตีเป็นฝ่ายขาวหรือไม่
+     * @param occupied บิตบอร์ดของช่องที่มีหมาก (ใช้คำนวณแนวของเรือ)
+     * @return บิตบอร์ดของหมากที่โจมตี
+     */
+    public long attackersTo(int square, boolean byWhite, long occupied) {
+        long[] attacker = pieces[side(byWhite)];
+        // ตารางของโคนและเบี้ยไม่สมมาตร: หมากขาวที่โจมตีช่องนี้ได้ อยู่ในช่องที่หมากดำจากช่องนี้โจมตีได้
+        return (Attacks.KHUN[square] & attacker[KHUN])
+             | (Attacks.MET[square] & (attacker[MET] | attacker[BIA_NGAI]))
+             | (Attacks.MA[square] & attacker[MA])
+             | (Attacks.khon(!byWhite)[square] & attacker[KHON])
+             | (Attacks.biaCaptures(!byWhite)[square] & attacker[BIA])
+             | (RueaAttacks.attacks(square, occupied) & attacker[RUEA]);
+    }
+
+    /**
+     * ตรวจสอบว่าช่องที่กำหนดถูกหมากฝ่ายที่กำหนดโจมตีหรือไม่
+     * @param square ช่องเป้าหมาย
+     * @param byWhite หมากผู้โจมตีเป็นฝ่ายขาวหรือไม่
+     * @return true ถ้าถูกโจมตี
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        return attackersTo(square, byWhite, occupied) != 0;
+    }
+
+    /**
+     * ตรวจสอบว่าขุนของฝ่ายที่กำหนดถูกรุกหรือไม่
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return true ถ้าถูกรุก (false ถ้าไม่มีขุนบนกระดาน)
+     */
+    public boolean isInCheck(boolean isWhite) {
+        int kingSquare = kingSquares[side(isWhite)];
+        return kingSquare != NO_SQUARE && isSquareAttacked(kingSquare, !isWhite);
+    }
+
+    /**
+     * แปลงแถวและคอลัมน์เป็นหมายเลขช่อง
+     * @param row แถว
+     * @param col คอลัมน์
+     * @return หมายเลขช่อง (0-63)
+     */
+    public static int square(int row, int col) {
+        return (row << 3) | col;
+    }
+
+    /**
+     * รับแถวของช่อง
+     * @param square หมายเลขช่อง
+     * @return แถว
+     */
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * รับคอลัมน์ของช่อง
+     * @param square หมายเลขช่อง
+     * @return คอลัมน์
+     */
+    public static int col(int square) {
+        return square & 7;
+    }
+
+    /**
+     * แปลงสัญลักษณ์หมากเป็นประเภทหมาก
+     * @param symbol สัญลักษณ์ของหมาก (ตัวพิมพ์เล็ก = ขาว, ตัวพิมพ์ใหญ่ = ดำ)
+     * @return ประเภทหมาก หรือ NONE ถ้าไม่รู้จัก
+     */
+    public static int typeOf(char symbol) {
+        switch (Character.toLowerCase(symbol)) {
+            case 'k': return KHUN;
+            case 'q': return MET;
+            case 'b': return KHON;
+            case 'n': return MA;
+            case 'r': return RUEA;
+            case 'p': return BIA;
+            case 'u': return BIA_NGAI;
+            default: return NONE;
+        }
+    }
+
+    /**
+     * สร้างรหัสหมากแบบ byte
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @param type ประเภทหมาก
+     * @return รหัสหมาก
+     */
+    public static byte pieceCode(boolean isWhite, int type) {
+        return (byte) ((type + 1) | (isWhite ? 0 : BLACK_FLAG));
+    }
+
+    /**
+     * รับประเภทหมากจากรหัสหมากแบบ byte
+     * @param piece รหัสหมาก
+     * @return ประเภทหมาก หรือ NONE ถ้าเป็นช่องว่าง
+     */
+    public static int pieceType(byte piece) {
+        return (piece & 7) - 1;
+    }
+
+    /**
+     * ตรวจสอบว่ารหัสหมากแบบ byte เป็นหมากขาวหรือไม่
+     * @param piece รหัสหมาก (ไม่ใช่ EMPTY)
+     * @return true ถ้าเป็นหมากขาว
+     */
+    public static boolean isWhitePiece(byte piece) {
+        return (piece & BLACK_FLAG) == 0;
+    }
+
+    private static int side(boolean isWhite) {
+        return isWhite ? WHITE : BLACK;
+    }
+}
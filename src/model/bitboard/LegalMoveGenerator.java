@@ -0,0 +1,164 @@
+package model.bitboard;
+
+/**
+ * ตัวสร้างการเคลื่อนที่ที่ถูกต้องตามกติกาโดยตรง โดยไม่ต้องลองเดินแล้วตรวจการรุก
+ * คำนวณหมากที่รุกขุน (checkers) และหมากที่ถูกตรึง (pinned) ครั้งเดียวต่อหนึ่งตำแหน่ง
+ * ในหมากรุกไทยมีเพียงเรือที่ตรึงหมากได้ (ตามแถวหรือคอลัมน์) และไม่มีการเดินพิเศษแบบ en passant หรือ castling
+ * จึงตรวจความถูกต้องได้ครบจากข้อมูลนี้
+ */
+public final class LegalMoveGenerator {
+    private static final long ALL = -1L;
+
+    private LegalMoveGenerator() {
+    }
+
+    /**
+     * สร้างการเคลื่อนที่ที่ถูกต้องทั้งหมดของฝ่ายที่กำหนด
+     * @param position ตำแหน่งปัจจุบัน
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param list รายการที่จะเขียนการเคลื่อนที่ลงไป
+     */
+    public static void generate(BitboardPosition position, boolean isWhite, MoveList list) {
+        generate(position, isWhite, ALL, list);
+    }
+
+    /**
+     * สร้างการเคลื่อนที่ที่ถูกต้องของหมากที่อยู่ในบิตบอร์ดที่กำหนด
+     * @param position ตำแหน่งปัจจุบัน
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param fromMask บิตบอร์ดของช่องเริ่มต้นที่ต้องการ
+     * @param list รายการที่จะเขียนการเคลื่อนที่ลงไป
+     */
+    public static void generate(BitboardPosition position, boolean isWhite, long fromMask, MoveList list) {
+        generate(position, isWhite, fromMask, false, list);
+    }
+
+    /**
+     * สร้างเฉพาะการเคลื่อนที่ที่ถูกต้องที่เป็นการกินหมากหรือการเลื่อนขั้นของเบี้ย (สำหรับ quiescence search)
+     * @param position ตำแหน่งปัจจุบัน
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param list รายการที่จะเขียนการเคลื่อนที่ลงไป
+     */
+    public static void generateCaptures(BitboardPosition position, boolean isWhite, MoveList list) {
+        generate(position, isWhite, ALL, true, list);
+    }
+
+    private static void generate(BitboardPosition position, boolean isWhite, long fromMask,
+                                 boolean capturesOnly, MoveList list) {
+        long own = position.getOccupancy(isWhite) & fromMask;
+        int kingSquare = position.getKingSquare(isWhite);
+        if (kingSquare == BitboardPosition.NO_SQUARE) {
+            // ไม่มีขุน (ตำแหน่งที่ตั้งเอง) ทุกการเคลื่อนที่ถือว่าถูกต้อง
+            while (own != 0) {
+                int from = Long.numberOfTrailingZeros(own);
+                own &= own - 1;
+                addMoves(position, from, isWhite, ALL, capturesOnly, list);
+            }
+            return;
+        }
+
+        long king = 1L << kingSquare;
+        long occupied = position.getOccupied();
+        long checkers = position.attackersTo(kingSquare, !isWhite, occupied);
+
+        // ขุนเดินได้เฉพาะช่องที่ไม่ถูกโจมตี (นำขุนออกจากกระดานก่อน เพื่อไม่ให้ขุนบังแนวของเรือตัวเอง)
+        if ((own & king) != 0) {
+            long targets = Attacks.KHUN[kingSquare]
+                         & (capturesOnly ? position.getOccupancy(!isWhite) : ~position.getOccupancy(isWhite));
+            long withoutKing = occupied ^ king;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                if (position.attackersTo(to, !isWhite, withoutKing) == 0) {
+                    list.add(MoveEncoding.encode(kingSquare, to, BitboardPosition.KHUN, position.getType(to), false));
+                }
+            }
+        }
+
+        // ถูกรุกสองทาง มีแต่ขุนที่เดินได้
+        if (Long.bitCount(checkers) > 1) {
+            return;
+        }
+
+        // ถูกรุกทางเดียว ต้องกินหมากที่รุกหรือเข้าบังแนวของเรือ
+        long checkMask = ALL;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            checkMask = checkers | Attacks.BETWEEN[kingSquare][checker];
+        }
+
+        long pinned = pinned(position, kingSquare, isWhite);
+        long pieces = own & ~king;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long mask = checkMask;
+            if ((pinned & (1L << from)) != 0) {
+                mask &= pinRay(position, kingSquare, from, isWhite);
+            }
+            addMoves(position, from, isWhite, mask, capturesOnly, list);
+        }
+    }
+
+    /**
+     * ตรวจสอบว่าฝ่ายที่กำหนดมีการเคลื่อนที่ที่ถูกต้องอย่างน้อยหนึ่งตาหรือไม่
+     * @param position ตำแหน่งปัจจุบัน
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param buffer รายการชั่วคราวสำหรับการสร้างการเคลื่อนที่
+     * @return true ถ้ามีการเคลื่อนที่ที่ถูกต้อง
+     */
+    public static boolean hasLegalMoves(BitboardPosition position, boolean isWhite, MoveList buffer) {
+        buffer.clear();
+        generate(position, isWhite, buffer);
+        return !buffer.isEmpty();
+    }
+
+    /**
+     * หาหมากของฝ่ายที่กำหนดที่ถูกเรือฝ่ายตรงข้ามตรึงไว้กับขุน
+     */
+    private static long pinned(BitboardPosition position, int kingSquare, boolean isWhite) {
+        long occupied = position.getOccupied();
+        long snipers = RueaAttacks.attacks(kingSquare, 0L) & position.getPieces(!isWhite, BitboardPosition.RUEA);
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.BETWEEN[kingSquare][sniper] & occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & position.getOccupancy(isWhite)) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * ช่องที่หมากที่ถูกตรึงเดินไปได้: ระหว่างขุนกับเรือที่ตรึง รวมถึงการกินเรือตัวนั้น
+     */
+    private static long pinRay(BitboardPosition position, int kingSquare, int pinnedSquare, boolean isWhite) {
+        long snipers = RueaAttacks.attacks(kingSquare, 0L) & position.getPieces(!isWhite, BitboardPosition.RUEA);
+        long pinnedBit = 1L << pinnedSquare;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long between = Attacks.BETWEEN[kingSquare][sniper];
+            if ((between & position.getOccupied()) == pinnedBit) {
+                return between | (1L << sniper);
+            }
+        }
+        return ALL;
+    }
+
+    private static void addMoves(BitboardPosition position, int from, boolean isWhite, long mask,
+                                 boolean capturesOnly, MoveList list) {
+        int type = position.getType(from);
+        long targets = MoveGenerator.getTargets(position, from, type, isWhite) & mask;
+        if (capturesOnly) {
+            long noisy = position.getOccupancy(!isWhite);
+            if (type == BitboardPosition.BIA) {
+                noisy |= MoveGenerator.promotionZone(isWhite);
+            }
+            targets &= noisy;
+        }
+        MoveGenerator.addMoves(position, from, type, isWhite, targets, list);
+    }
+}
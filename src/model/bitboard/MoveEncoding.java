@@ -0,0 +1,117 @@
+package model.bitboard;
+
+/**
+ * การเข้ารหัสการเคลื่อนที่ให้อยู่ใน int ตัวเดียว สำหรับใช้ในการค้นหาโดยไม่ต้องสร้างออบเจ็กต์
+ * <pre>
+ * บิต 0-5   ช่องเริ่มต้น
+ * บิต 6-11  ช่องปลายทาง
+ * บิต 12-14 ประเภทหมากที่เคลื่อนที่
+ * บิต 15-17 ประเภทหมากที่ถูกกิน + 1 (0 = ไม่มีการกิน)
+ * บิต 18    การเลื่อนขั้นของเบี้ย
+ * </pre>
+ * ค่า 0 ไม่ใช่การเคลื่อนที่ที่เป็นไปได้ จึงใช้แทน "ไม่มีการเคลื่อนที่" ได้
+ */
+public final class MoveEncoding {
+    public static final int NO_MOVE = 0;
+
+    private static final int TO_SHIFT = 6;
+    private static final int MOVING_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 15;
+    private static final int PROMOTION_BIT = 1 << 18;
+
+    private MoveEncoding() {
+    }
+
+    /**
+     * เข้ารหัสการเคลื่อนที่
+     * @param from ช่องเริ่มต้น
+     * @param to ช่องปลายทาง
+     * @param moving ประเภทหมากที่เคลื่อนที่
+     * @param captured ประเภทหมากที่ถูกกิน หรือ BitboardPosition.NONE
+     * @param promotion เป็นการเลื่อนขั้นหรือไม่
+     * @return การเคลื่อนที่ที่เข้ารหัสแล้ว
+     */
+    public static int encode(int from, int to, int moving, int captured, boolean promotion) {
+        return from
+             | (to << TO_SHIFT)
+             | (moving << MOVING_SHIFT)
+             | ((captured + 1) << CAPTURED_SHIFT)
+             | (promotion ? PROMOTION_BIT : 0);
+    }
+
+    /**
+     * รับช่องเริ่มต้น
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return ช่องเริ่มต้น (0-63)
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    /**
+     * รับช่องปลายทาง
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return ช่องปลายทาง (0-63)
+     */
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & 63;
+    }
+
+    /**
+     * รับประเภทหมากที่เคลื่อนที่ (ก่อนการเลื่อนขั้น)
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return ประเภทหมาก
+     */
+    public static int moving(int move) {
+        return (move >>> MOVING_SHIFT) & 7;
+    }
+
+    /**
+     * รับประเภทหมากที่ถูกกิน
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return ประเภทหมากที่ถูกกิน หรือ BitboardPosition.NONE ถ้าไม่มีการกิน
+     */
+    public static int captured(int move) {
+        return ((move >>> CAPTURED_SHIFT) & 7) - 1;
+    }
+
+    /**
+     * ตรวจสอบว่าเป็นการกินหมากหรือไม่
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return true ถ้าเป็นการกินหมาก
+     */
+    public static boolean isCapture(int move) {
+        return ((move >>> CAPTURED_SHIFT) & 7) != 0;
+    }
+
+    /**
+     * ตรวจสอบว่าเป็นการเลื่อนขั้นของเบี้ยหรือไม่
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return true ถ้าเป็นการเลื่อนขั้น
+     */
+    public static boolean isPromotion(int move) {
+        return (move & PROMOTION_BIT) != 0;
+    }
+
+    /**
+     * รับประเภทหมากหลังการเคลื่อนที่ (เบี้ยหงายเมื่อเป็นการเลื่อนขั้น)
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return ประเภทหมากหลังการเคลื่อนที่
+     */
+    public static int movedType(int move) {
+        return isPromotion(move) ? BitboardPosition.BIA_NGAI : moving(move);
+    }
+
+    /**
+     * แปลงเป็นข้อความสำหรับการแสดงผล เช่น (6,4)->(5,4)
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     * @return ข้อความ
+     */
+    public static String toString(int move) {
+        int from = from(move);
+        int to = to(move);
+        return "(" + BitboardPosition.row(from) + "," + BitboardPosition.col(from) + ")->("
+             + BitboardPosition.row(to) + "," + BitboardPosition.col(to) + ")"
+             + (isPromotion(move) ? "=" : "");
+    }
+}
@@ -0,0 +1,106 @@
+package model.bitboard;
+
+/**
+ * ตัวสร้างการเคลื่อนที่แบบ pseudo-legal (ยังไม่ตรวจว่าขุนของตัวเองถูกรุกหรือไม่)
+ * เขียนการเคลื่อนที่แบบ int ลงใน MoveList โดยไม่สร้างออบเจ็กต์
+ */
+public final class MoveGenerator {
+    /** ช่องที่เบี้ยเลื่อนขั้น [ฝ่าย]: ขาวแถว 0-2, ดำแถว 5-7 */
+    private static final long[] PROMOTION_ZONE = {0x0000000000FFFFFFL, 0xFFFFFF0000000000L};
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * สร้างการเคลื่อนที่ทั้งหมดของฝ่ายที่กำหนด
+     * @param position ตำแหน่งปัจจุบัน
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param list รายการที่จะเขียนการเคลื่อนที่ลงไป
+     */
+    public static void generate(BitboardPosition position, boolean isWhite, MoveList list) {
+        long own = position.getOccupancy(isWhite);
+        while (own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            generate(position, from, list);
+        }
+    }
+
+    /**
+     * สร้างการเคลื่อนที่ของหมากที่ช่องที่กำหนด
+     * @param position ตำแหน่งปัจจุบัน
+     * @param from ช่องของหมาก
+     * @param list รายการที่จะเขียนการเคลื่อนที่ลงไป
+     */
+    public static void generate(BitboardPosition position, int from, MoveList list) {
+        int type = position.getType(from);
+        if (type == BitboardPosition.NONE) {
+            return;
+        }
+        boolean isWhite = position.isWhite(from);
+        addMoves(position, from, type, isWhite, getTargets(position, from, type, isWhite), list);
+    }
+
+    /**
+     * รับบิตบอร์ดของช่องที่หมากเดินไปได้ (ช่องว่างหรือมีหมากฝ่ายตรงข้าม)
+     * @param position ตำแหน่งปัจจุบัน
+     * @param from ช่องของหมาก
+     * @param type ประเภทหมาก
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return บิตบอร์ดของช่องเป้าหมาย
+     */
+    public static long getTargets(BitboardPosition position, int from, int type, boolean isWhite) {
+        long notOwn = ~position.getOccupancy(isWhite);
+        switch (type) {
+            case BitboardPosition.KHUN:
+                return Attacks.KHUN[from] & notOwn;
+            case BitboardPosition.MET:
+            case BitboardPosition.BIA_NGAI:
+                return Attacks.MET[from] & notOwn;
+            case BitboardPosition.KHON:
+                return Attacks.khon(isWhite)[from] & notOwn;
+            case BitboardPosition.MA:
+                return Attacks.MA[from] & notOwn;
+            case BitboardPosition.RUEA:
+                return RueaAttacks.attacks(from, position.getOccupied()) & notOwn;
+            case BitboardPosition.BIA:
+                return (Attacks.biaPushes(isWhite)[from] & ~position.getOccupied())
+                     | (Attacks.biaCaptures(isWhite)[from] & position.getOccupancy(!isWhite));
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * ตรวจสอบว่าเบี้ยที่ไปถึงช่องที่กำหนดจะเลื่อนขั้นหรือไม่
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @param to ช่องปลายทาง
+     * @return true ถ้าเลื่อนขั้น
+     */
+    public static boolean isPromotionSquare(boolean isWhite, int to) {
+        int row = BitboardPosition.row(to);
+        return isWhite ? row <= 2 : row >= 5;
+    }
+
+    /**
+     * รับบิตบอร์ดของช่องที่เบี้ยของฝ่ายที่กำหนดเลื่อนขั้น
+     * @param isWhite ฝ่ายขาวหรือไม่
+     * @return บิตบอร์ดของช่องเลื่อนขั้น
+     */
+    public static long promotionZone(boolean isWhite) {
+        return PROMOTION_ZONE[isWhite ? BitboardPosition.WHITE : BitboardPosition.BLACK];
+    }
+
+    /**
+     * เขียนการเคลื่อนที่จากช่องที่กำหนดไปยังทุกช่องในบิตบอร์ดเป้าหมายลงในรายการ
+     */
+    static void addMoves(BitboardPosition position, int from, int type, boolean isWhite,
+                                 long targets, MoveList list) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            boolean promotion = type == BitboardPosition.BIA && isPromotionSquare(isWhite, to);
+            list.add(MoveEncoding.encode(from, to, type, position.getType(to), promotion));
+        }
+    }
+}
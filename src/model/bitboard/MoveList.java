@@ -0,0 +1,91 @@
+package model.bitboard;
+
+/**
+ * รายการการเคลื่อนที่แบบ int ที่จองหน่วยความจำไว้ล่วงหน้า
+ * การค้นหาใช้หนึ่งรายการต่อหนึ่ง ply และเรียก clear() แทนการสร้างรายการใหม่
+ */
+public class MoveList {
+    /** จำนวนการเคลื่อนที่สูงสุดที่เป็นไปได้ในหนึ่งตำแหน่ง (เผื่อไว้สำหรับตำแหน่งที่ตั้งเอง) */
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves;
+    private int size;
+
+    /**
+     * สร้างรายการว่างใหม่
+     */
+    public MoveList() {
+        moves = new int[MAX_MOVES];
+        size = 0;
+    }
+
+    /**
+     * สร้างรายการสำหรับทุก ply ของการค้นหา
+     * @param plies จำนวน ply
+     * @return อาร์เรย์ของรายการ หนึ่งรายการต่อหนึ่ง ply
+     */
+    public static MoveList[] forPlies(int plies) {
+        MoveList[] lists = new MoveList[plies];
+        for (int i = 0; i < plies; i++) {
+            lists[i] = new MoveList();
+        }
+        return lists;
+    }
+
+    /**
+     * เพิ่มการเคลื่อนที่ต่อท้ายรายการ
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * รับการเคลื่อนที่ที่ตำแหน่งที่กำหนด
+     * @param index ตำแหน่งในรายการ
+     * @return การเคลื่อนที่ที่เข้ารหัสแล้ว
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * แทนที่การเคลื่อนที่ที่ตำแหน่งที่กำหนด
+     * @param index ตำแหน่งในรายการ
+     * @param move การเคลื่อนที่ที่เข้ารหัสแล้ว
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * รับจำนวนการเคลื่อนที่ในรายการ
+     * @return จำนวนการเคลื่อนที่
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ตรวจสอบว่ารายการว่างหรือไม่
+     * @return true ถ้ารายการว่าง
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * ล้างรายการ (ไม่คืนหน่วยความจำ)
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * ตัดรายการให้เหลือตามจำนวนที่กำหนด
+     * @param size จำนวนที่เหลือ
+     */
+    public void truncate(int size) {
+        this.size = size;
+    }
+}
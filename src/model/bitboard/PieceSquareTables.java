@@ -0,0 +1,197 @@
+package model.bitboard;
+
+/**
+ * ตารางค่าตำแหน่งของหมาก (piece-square tables) สำหรับการประเมินกระดาน
+ * ตารางเขียนจากมุมมองของฝ่ายขาว (แถวบน = แถว 0 ฝั่งดำ) ส่วนฝ่ายดำใช้ตารางเดียวกันที่กลับแถว (ช่อง ^ 56)
+ * ค่าของหมากแต่ละตัวบนแต่ละช่อง (ค่าหมาก + ค่าตำแหน่ง มีเครื่องหมายบวกสำหรับขาว ลบสำหรับดำ)
+ * ถูกคำนวณไว้ครั้งเดียว ทำให้ BitboardPosition ปรับคะแนนรวมได้ทันทีตอนวางหรือนำหมากออก
+ */
+public final class PieceSquareTables {
+    /** ค่าของหมากแต่ละประเภท (ตามลำดับรหัสประเภทหมาก) */
+    private static final int[] VALUES = {10000, 5, 3, 3, 5, 1, 2}; // ขุนมีค่าสูงมาก เพราะการเสียขุนคือการแพ้
+
+    /** ขุน */
+    private static final int[] KHUN = {
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -20, -30, -30, -40, -40, -30, -30, -20,
+        -10, -20, -20, -20, -20, -20, -20, -10,
+         20,   0,   0,   0,   0,   0,   0,  20,
+         20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    /** เม็ด */
+    private static final int[] MET = {
+        -20, -10, -10,  -5,  -5, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,   5,   5,   5,   0, -10,
+         -5,   0,   5,  10,  10,   5,   0,  -5,
+          0,   0,   5,  10,  10,   5,   0,  -5,
+        -10,   5,   5,   5,   5,   5,   0, -10,
+        -10,   0,   5,   0,   0,   0,   0, -10,
+        -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    /** โคน */
+    private static final int[] KHON = {
+        -20, -10, -10, -10, -10, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,  10,  10,  10,  10,   0, -10,
+        -10,   5,  10,  10,  10,  10,   5, -10,
+        -10,   0,  10,  10,  10,  10,   0, -10,
+        -10,  10,  10,  10,  10,  10,  10, -10,
+        -10,   5,   0,   0,   0,   0,   5, -10,
+        -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    /** ม้า */
+    private static final int[] MA = {
+        -50, -40, -30, -30, -30, -30, -40, -50,
+        -40, -20,   0,   0,   0,   0, -20, -40,
+        -30,   0,  10,  15,  15,  10,   0, -30,
+        -30,   5,  15,  20,  20,  15,   5, -30,
+        -30,   0,  15,  20,  20,  15,   0, -30,
+        -30,   5,  10,  15,  15,  10,   5, -30,
+        -40, -20,   0,   5,   5,   0, -20, -40,
+        -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    /** เรือ */
+    private static final int[] RUEA = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+          5,  10,  10,  10,  10,  10,  10,   5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+          0,   0,   0,   5,   5,   0,   0,   0
+    };
+
+    /** เบี้ย */
+    private static final int[] BIA = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+         50,  50,  50,  50,  50,  50,  50,  50,
+         10,  10,  20,  30,  30,  20,  10,  10,
+          5,   5,  10,  25,  25,  10,   5,   5,
+          0,   0,   0,  20,  20,   0,   0,   0,
+          5,  -5, -10,   0,   0, -10,  -5,   5,
+          5,  10,  10, -20, -20,  10,  10,   5,
+          0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    /** เบี้ยหงาย */
+    private static final int[] BIA_NGAI = {
+        -20, -10, -10,  -5,  -5, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,   5,   5,   5,   0, -10,
+         -5,   0,   5,  10,  10,   5,   0,  -5,
+          0,   0,   5,  10,  10,   5,   0,  -5,
+        -10,   5,   5,   5,   5,   5,   0, -10,
+        -10,   0,   5,   0,   0,   0,   0, -10,
+        -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    private static final int[][] TABLES = {KHUN, MET, KHON, MA, RUEA, BIA, BIA_NGAI};
+
+    /** ค่าหมากรวมค่าตำแหน่งแบบมีเครื่องหมาย [รหัสหมากแบบ byte][ช่อง] */
+    private static final int[][] SCORES = new int[16][64];
+
+    /** ค่าที่มากที่สุดที่การเคลื่อนที่หนึ่งตาเพิ่มให้หมากที่เดินได้ (ค่าตำแหน่งที่เปลี่ยน รวมการเลื่อนขั้นของเบี้ย ไม่รวมหมากที่ถูกกิน) */
+    public static final int MAX_MOVE_GAIN;
+
+    static {
+        for (int type = 0; type < BitboardPosition.PIECE_TYPES; type++) {
+            for (int square = 0; square < 64; square++) {
+                int white = VALUES[type] + TABLES[type][square];
+                int black = VALUES[type] + TABLES[type][square ^ 56];
+                SCORES[BitboardPosition.pieceCode(true, type)][square] = white;
+                SCORES[BitboardPosition.pieceCode(false, type)][square] = -black;
+            }
+        }
+        MAX_MOVE_GAIN = maxMoveGain();
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * หาค่าที่เพิ่มขึ้นมากที่สุดของหมากที่เดินหนึ่งตา จากทุกช่องไปยังทุกช่องที่หมากประเภทนั้นเดินไปได้บนกระดานว่าง
+     * คิดเฉพาะฝ่ายขาว เพราะฝ่ายดำใช้ตารางที่กลับแถวกับการเดินที่กลับทิศ ซึ่งได้ค่าเดียวกัน
+     */
+    private static int maxMoveGain() {
+        int best = 0;
+        for (int type = 0; type < BitboardPosition.PIECE_TYPES; type++) {
+            for (int from = 0; from < 64; from++) {
+                if (type == BitboardPosition.BIA && MoveGenerator.isPromotionSquare(true, from)) {
+                    continue; // เบี้ยที่ยังไม่หงายไม่อยู่ในแถวเลื่อนขั้น
+                }
+                long targets = whiteTargets(type, from);
+                while (targets != 0) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    int newType = type == BitboardPosition.BIA && MoveGenerator.isPromotionSquare(true, to)
+                                  ? BitboardPosition.BIA_NGAI : type;
+                    int gain = VALUES[newType] + TABLES[newType][to] - VALUES[type] - TABLES[type][from];
+                    best = Math.max(best, gain);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * รับช่องที่หมากขาวประเภทที่กำหนดเดินไปได้บนกระดานว่าง (รวมการกินของเบี้ย)
+     */
+    private static long whiteTargets(int type, int from) {
+        switch (type) {
+            case BitboardPosition.KHUN:
+                return Attacks.KHUN[from];
+            case BitboardPosition.MET:
+            case BitboardPosition.BIA_NGAI:
+                return Attacks.MET[from];
+            case BitboardPosition.KHON:
+                return Attacks.khon(true)[from];
+            case BitboardPosition.MA:
+                return Attacks.MA[from];
+            case BitboardPosition.RUEA:
+                return RueaAttacks.attacks(from, 0L);
+            case BitboardPosition.BIA:
+                return Attacks.biaPushes(true)[from] | Attacks.biaCaptures(true)[from];
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * รับค่าหมากรวมค่าตำแหน่งของหมากบนช่องที่กำหนด จากมุมมองของฝ่ายขาว
+     * @param piece รหัสหมากแบบ byte
+     * @param square ช่อง (0-63)
+     * @return ค่าบวกสำหรับหมากขาว ค่าลบสำหรับหมากดำ
+     */
+    public static int score(byte piece, int square) {
+        return SCORES[piece][square];
+    }
+
+    /**
+     * รับค่าตำแหน่งของหมากประเภทที่กำหนดบนช่องที่กำหนด จากมุมมองของฝ่ายของหมากเอง
+     * @param type ประเภทหมาก
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @param square ช่อง (0-63)
+     * @return ค่าตำแหน่ง
+     */
+    public static int positionValue(int type, boolean isWhite, int square) {
+        return TABLES[type][isWhite ? square : square ^ 56];
+    }
+
+    /**
+     * รับค่าของหมากประเภทที่กำหนด
+     * @param type ประเภทหมาก
+     * @return ค่าของหมาก
+     */
+    public static int value(int type) {
+        return VALUES[type];
+    }
+}
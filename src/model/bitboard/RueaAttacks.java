@@ -0,0 +1,120 @@
+package model.bitboard;
+
+/**
+ * ตารางการโจมตีของเรือ (หมากที่เดินได้หลายช่องเพียงชนิดเดียวในหมากรุกไทย) แบบ magic bitboard
+ * ค่า magic ถูกค้นหาไว้ล่วงหน้า ส่วนตารางถูกสร้างครั้งเดียวตอนโหลดคลาส
+ * หลังจากนั้นการหาช่องที่เรือโจมตีได้ใช้เวลาคงที่
+ * (AND กับ mask, คูณด้วย magic, shift แล้วอ่านจากตาราง)
+ */
+public final class RueaAttacks {
+    private static final int[][] DIRECTIONS = {
+        {-1, 0}, {1, 0},
+        {0, -1}, {0, 1}
+    };
+
+    /**
+     * ค่า magic ของแต่ละช่อง ทำให้ทุกชุดของหมากขวางถูกแมปไปยังดัชนีที่ไม่ชนกันแบบทำลาย
+     */
+    private static final long[] MAGICS = {
+        0x0380006180904000L, 0x0300210240021080L, 0x0100102001000840L, 0x8480100008018004L,
+        0x0200102002000804L, 0x0080040002008001L, 0x4100008100040200L, 0x8200045101840322L,
+        0x1408800040008022L, 0x0286402010044000L, 0x0000802000801000L, 0x0009002010010009L,
+        0x0102000508209200L, 0x0480800400800201L, 0x0105000412000100L, 0x0189000203548500L,
+        0x0200208000804008L, 0x5450004020004000L, 0x0001010020001048L, 0x0810010009001024L,
+        0x0104010100100800L, 0x24A4008080040200L, 0x1030040090080241L, 0x00020200058B0144L,
+        0x2040004C80008828L, 0x0140080020201000L, 0x0880200080801000L, 0x4400100080800800L,
+        0x0080900500080100L, 0x0000020080800400L, 0x0044010400021008L, 0x0100210A0010884CL,
+        0x1000804001800021L, 0x8520802101004001L, 0x1010001080802001L, 0x8003002009001000L,
+        0x0800800402800800L, 0x300200540A001028L, 0x0022000402000108L, 0x380C241186000A41L,
+        0x0080002000414000L, 0x0000200050004000L, 0x0000108200220040L, 0x0410100008008080L,
+        0x000C080100110004L, 0x0004000402008080L, 0x2000040200010100L, 0x1804208C12420001L,
+        0x0000800040002280L, 0x0002010040802200L, 0x0120820043211200L, 0x0000100180080280L,
+        0x0408800400F80180L, 0x0008020004008080L, 0x2022010802100400L, 0x0000009041040200L,
+        0x8001800101E04013L, 0x00042B0010400081L, 0x0020081080204202L, 0x5010000410082101L,
+        0x1101004208005005L, 0x024900282204004BL, 0x000A108810010244L, 0x0388050424004082L
+    };
+
+    private static final long[] MASKS = new long[64];
+    private static final int[] SHIFTS = new int[64];
+    private static final long[][] TABLE = new long[64][];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            initSquare(square);
+        }
+    }
+
+    private RueaAttacks() {
+    }
+
+    /**
+     * รับบิตบอร์ดของช่องที่เรือโจมตีได้
+     * @param square ช่องของเรือ (0-63)
+     * @param occupied บิตบอร์ดของช่องที่มีหมากทั้งหมด
+     * @return บิตบอร์ดของช่องที่โจมตีได้ (รวมช่องแรกที่มีหมากในแต่ละทิศทาง)
+     */
+    public static long attacks(int square, long occupied) {
+        int index = (int) (((occupied & MASKS[square]) * MAGICS[square]) >>> SHIFTS[square]);
+        return TABLE[square][index];
+    }
+
+    private static void initSquare(int square) {
+        long mask = relevantMask(square);
+        int bits = Long.bitCount(mask);
+        int shift = 64 - bits;
+        long[] table = new long[1 << bits];
+        boolean[] used = new boolean[1 << bits];
+
+        // ไล่ทุกชุดย่อยของ mask (carry-rippler) แล้วเก็บการโจมตีที่คำนวณแบบไล่ทีละช่อง
+        long subset = 0L;
+        do {
+            int index = (int) ((subset * MAGICS[square]) >>> shift);
+            long attacks = slowAttacks(square, subset);
+            if (used[index] && table[index] != attacks) {
+                throw new IllegalStateException("ค่า magic ของช่อง " + square + " ไม่ถูกต้อง");
+            }
+            used[index] = true;
+            table[index] = attacks;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+
+        MASKS[square] = mask;
+        SHIFTS[square] = shift;
+        TABLE[square] = table;
+    }
+
+    /**
+     * ช่องที่หมากขวางมีผลต่อการโจมตี (ไม่รวมช่องขอบกระดาน เพราะเป็นช่องสุดท้ายของแนวอยู่แล้ว)
+     */
+    private static long relevantMask(int square) {
+        int row = BitboardPosition.row(square);
+        int col = BitboardPosition.col(square);
+        long mask = 0L;
+        for (int r = row + 1; r < 7; r++) mask |= 1L << BitboardPosition.square(r, col);
+        for (int r = row - 1; r > 0; r--) mask |= 1L << BitboardPosition.square(r, col);
+        for (int c = col + 1; c < 7; c++) mask |= 1L << BitboardPosition.square(row, c);
+        for (int c = col - 1; c > 0; c--) mask |= 1L << BitboardPosition.square(row, c);
+        return mask;
+    }
+
+    /**
+     * คำนวณการโจมตีโดยไล่ทีละช่อง ใช้เฉพาะตอนสร้างตาราง
+     */
+    private static long slowAttacks(int square, long occupied) {
+        long attacks = 0L;
+        for (int[] dir : DIRECTIONS) {
+            int r = BitboardPosition.row(square) + dir[0];
+            int c = BitboardPosition.col(square) + dir[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                long bit = 1L << BitboardPosition.square(r, c);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                r += dir[0];
+                c += dir[1];
+            }
+        }
+        return attacks;
+    }
+}
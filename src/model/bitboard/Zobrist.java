@@ -0,0 +1,59 @@
+package model.bitboard;
+
+import java.util.SplittableRandom;
+
+/**
+ * ค่าสุ่มสำหรับ Zobrist hashing ของตำแหน่งหมากรุกไทย
+ * ค่า hash ของตำแหน่งคือ XOR ของค่าสุ่มของหมากทุกตัวบนช่องของมัน ฝ่ายที่จะเดิน และสถานะของกฎการนับ
+ * จึงอัปเดตได้ทีละส่วนตอนวางหรือนำหมากออก โดยไม่ต้องคำนวณใหม่ทั้งกระดาน
+ * ใช้ seed คงที่ เพื่อให้ได้ค่า hash เดิมทุกครั้งที่รันโปรแกรม
+ */
+public final class Zobrist {
+    private static final long SEED = 0x6D616B72756B4CL;
+
+    /** ค่าสุ่มของหมากแต่ละรหัส (รหัสหมากแบบ byte) บนแต่ละช่อง [รหัสหมาก][ช่อง] */
+    private static final long[][] PIECES = new long[16][64];
+    /** ค่าสุ่มเมื่อเป็นตาของฝ่ายดำ */
+    public static final long BLACK_TO_MOVE;
+    /** ค่าสุ่มเมื่อครบกฎการนับแล้ว */
+    public static final long COUNTING;
+    /** ค่าสุ่มของแต่ละช่วงก่อนนับครบที่การค้นหาใช้ปรับค่าของกระดาน [ช่วง] (ช่วง 0 มีค่าเป็น 0) */
+    private static final long[] COUNTING_STAGES = new long[16];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int code = 0; code < 16; code++) {
+            for (int square = 0; square < 64; square++) {
+                // ช่องว่าง (EMPTY) ไม่มีผลกับค่า hash
+                PIECES[code][square] = code == BitboardPosition.EMPTY ? 0L : random.nextLong();
+            }
+        }
+        BLACK_TO_MOVE = random.nextLong();
+        COUNTING = random.nextLong();
+        for (int stage = 1; stage < COUNTING_STAGES.length; stage++) {
+            COUNTING_STAGES[stage] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * รับค่าสุ่มของหมากบนช่องที่กำหนด
+     * @param piece รหัสหมากแบบ byte
+     * @param square ช่อง (0-63)
+     * @return ค่าสุ่ม
+     */
+    public static long piece(byte piece, int square) {
+        return PIECES[piece][square];
+    }
+
+    /**
+     * รับค่าสุ่มของช่วงก่อนนับครบ
+     * @param stage ช่วง (0-15, 0 = ไม่อยู่ในช่วงใด)
+     * @return ค่าสุ่ม (0 สำหรับช่วง 0)
+     */
+    public static long countingStage(int stage) {
+        return COUNTING_STAGES[stage];
+    }
+}
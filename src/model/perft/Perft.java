@@ -0,0 +1,216 @@
+package model.perft;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.Board;
+import model.bitboard.MoveEncoding;
+import model.bitboard.MoveList;
+
+/**
+ * เครื่องมือ perft: นับจำนวนโหนดของต้นไม้การเคลื่อนที่ที่ถูกต้องจนถึงความลึกที่กำหนด
+ * ใช้ตรวจความถูกต้องและวัดความเร็วของตัวสร้างการเคลื่อนที่ โดยเทียบกับจำนวนโหนดที่รู้ค่าแล้ว
+ * รองรับการแยกผลตามการเคลื่อนที่แรก (divide), ตาราง hash สำหรับตำแหน่งที่ซ้ำกัน
+ * และการแบ่งการเคลื่อนที่แรกไปคำนวณหลายเธรดด้วย fork/join
+ */
+public class Perft {
+    /** จำนวนโหนดจากตำแหน่งเริ่มต้น ดัชนีคือความลึก */
+    public static final long[] START_POSITION_NODES = {
+        1L, 12L, 144L, 1956L, 26570L, 402297L, 6074042L, 100044112L, 1643159984L
+    };
+
+    private static final int MAX_DEPTH = 64;
+
+    private final Board board;
+    private final MoveList[] moveLists;
+    private final PerftCache cache;
+
+    /**
+     * สร้าง perft ใหม่สำหรับกระดานที่กำหนด (ไม่ใช้ตาราง hash)
+     * @param board กระดานที่จะนับ
+     */
+    public Perft(Board board) {
+        this(board, null);
+    }
+
+    /**
+     * สร้าง perft ใหม่สำหรับกระดานที่กำหนด
+     * @param board กระดานที่จะนับ
+     * @param cache ตาราง hash สำหรับผลที่ซ้ำกัน หรือ null ถ้าไม่ใช้
+     */
+    public Perft(Board board, PerftCache cache) {
+        this.board = board;
+        this.cache = cache;
+        this.moveLists = MoveList.forPlies(MAX_DEPTH);
+    }
+
+    /**
+     * นับจำนวนโหนดที่ความลึกที่กำหนด
+     * @param depth ความลึก
+     * @return จำนวนโหนด
+     */
+    public long perft(int depth) {
+        return perft(depth, 0);
+    }
+
+    /**
+     * นับจำนวนโหนดแยกตามการเคลื่อนที่แรก
+     * @param depth ความลึก (อย่างน้อย 1)
+     * @return จำนวนโหนดของแต่ละการเคลื่อนที่แรก เรียงตามลำดับที่สร้าง
+     */
+    public Map<String, Long> divide(int depth) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        MoveList moves = moveLists[0];
+        board.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeSearchMove(move);
+            result.put(MoveEncoding.toString(move), perft(depth - 1, 1));
+            board.unmakeSearchMove(move);
+        }
+        return result;
+    }
+
+    /**
+     * นับจำนวนโหนดโดยแบ่งการเคลื่อนที่แรกไปคำนวณพร้อมกันหลายเธรด
+     * แต่ละงานใช้สำเนาของกระดานของตัวเอง ส่วนตาราง hash (ถ้ามี) ใช้ร่วมกัน
+     * @param depth ความลึก
+     * @param pool thread pool ที่ใช้คำนวณ
+     * @return จำนวนโหนด
+     */
+    public long perftParallel(int depth, ForkJoinPool pool) {
+        if (depth <= 1) {
+            return perft(depth);
+        }
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+        List<RootTask> tasks = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            tasks.add(new RootTask(board.copy(), moves.get(i), depth - 1, cache));
+        }
+        return pool.invoke(new RecursiveTask<Long>() {
+            @Override
+            protected Long compute() {
+                invokeAll(tasks);
+                long nodes = 0;
+                for (RootTask task : tasks) {
+                    nodes += task.join();
+                }
+                return nodes;
+            }
+        });
+    }
+
+    private long perft(int depth, int ply) {
+        if (depth <= 0) {
+            return 1;
+        }
+
+        long hash = 0;
+        if (cache != null && depth > 1) {
+            hash = board.getHash();
+            long cached = cache.probe(hash, depth);
+            if (cached >= 0) {
+                return cached;
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        board.generateLegalMoves(moves);
+        if (depth == 1) {
+            return moves.size(); // นับการเคลื่อนที่ของชั้นสุดท้ายโดยไม่ต้องเดินจริง
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeSearchMove(move);
+            nodes += perft(depth - 1, ply + 1);
+            board.unmakeSearchMove(move);
+        }
+
+        if (cache != null) {
+            cache.store(hash, depth, nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * งานนับจำนวนโหนดของการเคลื่อนที่แรกหนึ่งตา บนสำเนาของกระดาน
+     */
+    private static class RootTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int move;
+        private final int depth;
+        private final PerftCache cache;
+
+        RootTask(Board board, int move, int depth, PerftCache cache) {
+            this.board = board;
+            this.move = move;
+            this.depth = depth;
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long compute() {
+            board.makeSearchMove(move);
+            return new Perft(board, cache).perft(depth);
+        }
+    }
+
+    /**
+     * รัน perft จากตำแหน่งเริ่มต้นและแสดงจำนวนโหนด เวลา และความเร็วของแต่ละความลึก
+     * ตัวเลือก: ความลึกสูงสุด, --divide, --parallel, --cache ขนาด(MB)
+     * @param args อาร์กิวเมนต์จากบรรทัดคำสั่ง
+     */
+    public static void main(String[] args) {
+        int maxDepth = 6;
+        boolean divide = false;
+        boolean parallel = false;
+        int cacheMb = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--divide")) {
+                divide = true;
+            } else if (args[i].equals("--parallel")) {
+                parallel = true;
+            } else if (args[i].equals("--cache") && i + 1 < args.length) {
+                cacheMb = Integer.parseInt(args[++i]);
+            } else {
+                maxDepth = Integer.parseInt(args[i]);
+            }
+        }
+
+        Board board = new Board();
+        Perft perft = new Perft(board, cacheMb > 0 ? new PerftCache(cacheMb) : null);
+
+        if (divide) {
+            long total = 0;
+            for (Map.Entry<String, Long> entry : perft.divide(maxDepth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            System.out.println("รวม: " + total);
+            return;
+        }
+
+        ForkJoinPool pool = parallel ? new ForkJoinPool() : null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long start = System.nanoTime();
+            long nodes = parallel ? perft.perftParallel(depth, pool) : perft.perft(depth);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            String check = depth < START_POSITION_NODES.length
+                           ? (nodes == START_POSITION_NODES[depth] ? " ถูกต้อง" : " ไม่ตรงกับค่าที่รู้ (" + START_POSITION_NODES[depth] + ")")
+                           : "";
+            System.out.println("perft(" + depth + ") = " + nodes + " เวลา " + elapsed / 1_000_000 + " ms, "
+                               + nodes * 1_000_000_000L / elapsed + " โหนด/วินาที" + check);
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package model.perft;
+
+import java.util.Arrays;
+
+/**
+ * ตาราง hash สำหรับเก็บผลของ perft ตามตำแหน่งและความลึก
+ * แต่ละช่องเก็บ long สองตัว (key XOR จำนวนโหนด และจำนวนโหนด) โดยไม่ใช้ล็อก
+ * ถ้าสองเธรดเขียนช่องเดียวกันพร้อมกันจนข้อมูลปนกัน การตรวจ key จะไม่ผ่านและถือว่าไม่พบข้อมูล
+ */
+public class PerftCache {
+    private final long[] keys;
+    private final long[] counts;
+    private final int mask;
+
+    /**
+     * สร้างตารางใหม่
+     * @param sizeMb ขนาดของตารางโดยประมาณ (เมกะไบต์)
+     */
+    public PerftCache(int sizeMb) {
+        long entries = Math.max(1L, (long) sizeMb * 1024 * 1024 / 16);
+        int size = Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+        keys = new long[size];
+        counts = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * ค้นหาจำนวนโหนดที่เคยคำนวณไว้
+     * @param hash ค่า hash ของตำแหน่ง
+     * @param depth ความลึก
+     * @return จำนวนโหนด หรือ -1 ถ้าไม่พบ
+     */
+    public long probe(long hash, int depth) {
+        long key = key(hash, depth);
+        int index = (int) key & mask;
+        long count = counts[index];
+        return (keys[index] ^ count) == key ? count : -1;
+    }
+
+    /**
+     * บันทึกจำนวนโหนดของตำแหน่งและความลึกที่กำหนด
+     * @param hash ค่า hash ของตำแหน่ง
+     * @param depth ความลึก
+     * @param count จำนวนโหนด
+     */
+    public void store(long hash, int depth, long count) {
+        long key = key(hash, depth);
+        int index = (int) key & mask;
+        keys[index] = key ^ count;
+        counts[index] = count;
+    }
+
+    /**
+     * ล้างข้อมูลทั้งหมดในตาราง
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(counts, 0L);
+    }
+
+    private static long key(long hash, int depth) {
+        // ผสมความลึกเข้าไปใน key เพื่อให้ตำแหน่งเดียวกันที่ความลึกต่างกันไม่ชนกัน
+        return hash ^ (depth * 0x9E3779B97F4A7C15L);
+    }
+}
@@ -3,6 +3,7 @@ package model.pieces;
 import java.util.List;
 import model.Board;
 import model.Move;
+import model.bitboard.BitboardPosition;
 
 /**
  * คลาสนามธรรมสำหรับหมากทุกประเภทในหมากรุกไทย
@@ -76,45 +77,66 @@ public abstract class Piece {
      */
     public abstract List<Move> getLegalMoves(Board board);
     
+    /**
+     * รับประเภทหมากแบบไม่มีสถานะของหมากนี้
+     * @return ประเภทหมาก
+     */
+    public PieceType getType() {
+        return PieceType.fromSymbol(symbol);
+    }
+    
+    /**
+     * รับรหัสหมากแบบ byte ของหมากนี้ (ใช้กับกระดานแบบ byte[64])
+     * @return รหัสหมาก
+     */
+    public byte getCode() {
+        return getType().getCode(isWhite);
+    }
+    
     /**
      * รับค่าของหมากสำหรับการประเมิน
      * @return ค่าของหมาก
      */
-    public abstract int getValue();
+    public int getValue() {
+        return getType().getValue();
+    }
     
     /**
-     * รับค่าตำแหน่งของหมากสำหรับการประเมิน
+     * รับค่าตำแหน่งของหมากสำหรับการประเมิน (จากตารางค่าตำแหน่งแบบคงที่)
      * @return ค่าตำแหน่งของหมาก
      */
-    public abstract int getPositionValue();
+    public int getPositionValue() {
+        return getType().getPositionValue(isWhite, getSquare());
+    }
     
     /**
-     * สร้างการเคลื่อนที่ในทิศทางที่กำหนด
-     * @param board กระดานปัจจุบัน
+     * สร้างการเคลื่อนที่ไปยังทุกช่องในบิตบอร์ดเป้าหมาย
      * @param moves รายการการเคลื่อนที่ที่จะเพิ่ม
-     * @param directions ทิศทางที่จะตรวจสอบ
-     * @param continuous สามารถเคลื่อนที่ต่อเนื่องในทิศทางเดียวกันได้หรือไม่
+     * @param targets บิตบอร์ดของช่องเป้าหมาย
      */
-    protected void addMovesInDirections(Board board, List<Move> moves, int[][] directions, boolean continuous) {
-        for (int[] dir : directions) {
-            int r = row + dir[0];
-            int c = col + dir[1];
-            
-            while (board.isValidPosition(r, c)) {
-                if (board.isEmpty(r, c)) {
-                    moves.add(new Move(row, col, r, c));
-                } else if (board.isEnemy(r, c, isWhite)) {
-                    moves.add(new Move(row, col, r, c));
-                    break;
-                } else {
-                    break;
-                }
-                
-                if (!continuous) break;
-                
-                r += dir[0];
-                c += dir[1];
-            }
+    protected void addMovesToTargets(List<Move> moves, long targets) {
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(new Move(row, col, BitboardPosition.row(square), BitboardPosition.col(square)));
         }
     }
+    
+    /**
+     * รับบิตบอร์ดของช่องที่หมากนี้เดินไปได้ (ช่องว่างหรือมีหมากฝ่ายตรงข้าม) จากตารางการโจมตี
+     * @param board กระดานปัจจุบัน
+     * @param attacks บิตบอร์ดการโจมตีจากช่องปัจจุบัน
+     * @return บิตบอร์ดของช่องเป้าหมาย
+     */
+    protected long getTargets(Board board, long attacks) {
+        return attacks & ~board.getPosition().getOccupancy(isWhite);
+    }
+    
+    /**
+     * รับหมายเลขช่องปัจจุบันของหมาก
+     * @return หมายเลขช่อง (0-63)
+     */
+    protected int getSquare() {
+        return BitboardPosition.square(row, col);
+    }
 }
@@ -0,0 +1,110 @@
+package model.pieces;
+
+import model.bitboard.BitboardPosition;
+import model.bitboard.MoveGenerator;
+import model.bitboard.PieceSquareTables;
+
+/**
+ * ประเภทหมากแบบไม่มีสถานะ (flyweight) ในหมากรุกไทย
+ * ไม่เก็บตำแหน่งหรือฝ่าย จึงใช้ร่วมกันได้ทุกกระดานและทุกเธรด
+ * ลำดับของค่าตรงกับรหัสประเภทหมากใน BitboardPosition (KHUN = 0 ถึง BIA_NGAI = 6)
+ */
+public enum PieceType {
+    KHUN('k'),      // ขุน
+    MET('q'),       // เม็ด
+    KHON('b'),      // โคน
+    MA('n'),        // ม้า
+    RUEA('r'),      // เรือ
+    BIA('p'),       // เบี้ย
+    BIA_NGAI('u');  // เบี้ยหงาย
+
+    private static final PieceType[] TYPES = values();
+
+    private final char symbol;
+
+    PieceType(char symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * รับรหัสประเภทหมากที่ใช้ใน BitboardPosition
+     * @return รหัสประเภทหมาก
+     */
+    public int getIndex() {
+        return ordinal();
+    }
+
+    /**
+     * รับสัญลักษณ์ของหมากประเภทนี้
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @return สัญลักษณ์ (ตัวพิมพ์เล็ก = ขาว, ตัวพิมพ์ใหญ่ = ดำ)
+     */
+    public char getSymbol(boolean isWhite) {
+        return isWhite ? symbol : Character.toUpperCase(symbol);
+    }
+
+    /**
+     * รับค่าของหมากสำหรับการประเมิน
+     * @return ค่าของหมาก
+     */
+    public int getValue() {
+        return PieceSquareTables.value(ordinal());
+    }
+
+    /**
+     * รับค่าตำแหน่งของหมากประเภทนี้บนช่องที่กำหนด
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @param square ช่อง (0-63)
+     * @return ค่าตำแหน่ง
+     */
+    public int getPositionValue(boolean isWhite, int square) {
+        return PieceSquareTables.positionValue(ordinal(), isWhite, square);
+    }
+
+    /**
+     * รับรหัสหมากแบบ byte ของหมากประเภทนี้
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @return รหัสหมากสำหรับกระดานแบบ byte[64]
+     */
+    public byte getCode(boolean isWhite) {
+        return BitboardPosition.pieceCode(isWhite, ordinal());
+    }
+
+    /**
+     * รับบิตบอร์ดของช่องที่หมากประเภทนี้เดินไปได้จากช่องที่กำหนด
+     * @param position ตำแหน่งปัจจุบัน
+     * @param square ช่องของหมาก
+     * @param isWhite เป็นหมากขาวหรือไม่
+     * @return บิตบอร์ดของช่องเป้าหมาย
+     */
+    public long getTargets(BitboardPosition position, int square, boolean isWhite) {
+        return MoveGenerator.getTargets(position, square, ordinal(), isWhite);
+    }
+
+    /**
+     * แปลงรหัสประเภทหมากเป็นประเภทหมาก
+     * @param type รหัสประเภทหมากใน BitboardPosition
+     * @return ประเภทหมาก หรือ null ถ้าเป็น NONE
+     */
+    public static PieceType of(int type) {
+        return type == BitboardPosition.NONE ? null : TYPES[type];
+    }
+
+    /**
+     * แปลงรหัสหมากแบบ byte เป็นประเภทหมาก
+     * @param piece รหัสหมาก
+     * @return ประเภทหมาก หรือ null ถ้าเป็นช่องว่าง
+     */
+    public static PieceType ofCode(byte piece) {
+        return of(BitboardPosition.pieceType(piece));
+    }
+
+    /**
+     * แปลงสัญลักษณ์ของหมากเป็นประเภทหมาก
+     * @param symbol สัญลักษณ์ของหมาก
+     * @return ประเภทหมาก หรือ null ถ้าไม่รู้จัก
+     */
+    public static PieceType fromSymbol(char symbol) {
+        return of(BitboardPosition.typeOf(symbol));
+    }
+}
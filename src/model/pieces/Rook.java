@@ -4,16 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 import model.Board;
 import model.Move;
+import model.bitboard.RueaAttacks;
 
 /**
  * คลาสสำหรับหมากเม็ด (Rook) ในหมากรุกไทย
  */
 public class Rook extends Piece {
-    private static final int[][] DIRECTIONS = {
-        {-1, 0}, {1, 0},
-        {0, -1}, {0, 1}
-    };
-    
     /**
      * สร้างหมากเม็ดใหม่
      * @param isWhite เป็นหมากขาวหรือไม่
@@ -27,44 +23,8 @@ public class Rook extends Piece {
     @Override
     public List<Move> getLegalMoves(Board board) {
         List<Move> moves = new ArrayList<>();
-        addMovesInDirections(board, moves, DIRECTIONS, true); // เม็ดเคลื่อนที่ได้หลายช่องในแนวตั้งและแนวนอน
+        long attacks = RueaAttacks.attacks(getSquare(), board.getPosition().getOccupied());
+        addMovesToTargets(moves, getTargets(board, attacks)); // เม็ดเคลื่อนที่ได้หลายช่องในแนวตั้งและแนวนอน
         return moves;
     }
-    
-    @Override
-    public int getValue() {
-        return 5; // ค่าของเม็ดในหมากรุกไทย
-    }
-    
-    @Override
-    public int getPositionValue() {
-        // เม็ดควรอยู่ในตำแหน่งที่สามารถควบคุมแถวและคอลัมน์ได้มาก
-        int[][] positionValues;
-        
-        if (isWhite) {
-            positionValues = new int[][] {
-                { 0,  0,  0,  0,  0,  0,  0,  0},
-                { 5, 10, 10, 10, 10, 10, 10,  5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                { 0,  0,  0,  5,  5,  0,  0,  0}
-            };
-        } else {
-            positionValues = new int[][] {
-                { 0,  0,  0,  5,  5,  0,  0,  0},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                {-5,  0,  0,  0,  0,  0,  0, -5},
-                { 5, 10, 10, 10, 10, 10, 10,  5},
-                { 0,  0,  0,  0,  0,  0,  0,  0}
-            };
-        }
-        
-        return positionValues[row][col];
-    }
 }
@@ -1,9 +1,8 @@
 package model.rules;
 
-import java.util.List;
 import model.Board;
-import model.Move;
-import model.Piece;
+import model.bitboard.LegalMoveGenerator;
+import model.bitboard.MoveList;
 
 /**
  * คลาสสำหรับตรวจสอบการรุก การจน และการอับในหมากรุกไทย
@@ -11,6 +10,7 @@ import model.Piece;
 public class CheckDetector {
     private Board board;
     private MoveValidator moveValidator;
+    private MoveList moveBuffer;
     
     /**
      * สร้าง CheckDetector ใหม่
@@ -19,6 +19,7 @@ public class CheckDetector {
     public CheckDetector(Board board) {
         this.board = board;
         this.moveValidator = new MoveValidator(board);
+        this.moveBuffer = new MoveList();
     }
     
     /**
@@ -66,17 +67,6 @@ public class CheckDetector {
      * @return true ถ้ามีการเคลื่อนที่ที่ถูกต้อง, false ถ้าไม่มี
      */
     private boolean hasLegalMoves(boolean isWhite) {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = board.getPiece(i, j);
-                if (piece != null && piece.isWhite() == isWhite) {
-                    List<Move> legalMoves = moveValidator.getLegalMoves(i, j);
-                    if (!legalMoves.isEmpty()) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return LegalMoveGenerator.hasLegalMoves(board.getPosition(), isWhite, moveBuffer);
     }
 }
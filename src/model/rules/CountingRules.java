@@ -1,11 +1,15 @@
 package model.rules;
 
 import model.Board;
+import model.bitboard.BitboardPosition;
 
 /**
  * คลาสสำหรับจัดการกฎการนับครบในหมากรุกไทย
+ * จำนวนตาในคลาสนี้นับเป็นตาเดินของทั้งสองฝ่ายเหมือนกับ Board.getMovesSinceCapture
  */
 public class CountingRules {
+    public static final int BOARD_HONOUR_LIMIT = 64; // นับศักดิ์กระดาน: ครบ 64 ตาโดยไม่มีการกินหมาก
+    
     private Board board;
     
     /**
@@ -21,35 +25,70 @@ public class CountingRules {
      * @return true ถ้ากฎการนับครบถูกใช้, false ถ้าไม่ถูกใช้
      */
     public boolean isCountingRuleApplied() {
-        return board.getMovesSinceCapture() >= 64; // นับครบ 64 ตา
+        return board.isCountingRuleApplied();
     }
     
     /**
-     * คำนวณจำนวนตาที่ฝ่ายที่มีหมากมากกว่าต้องชนะ
-     * @return จำนวนตาที่ต้องชนะ
+     * คำนวณจำนวนตาที่ฝ่ายที่มีหมากมากกว่ายังเหลือให้ชนะก่อนนับครบ
+     * @return จำนวนตาที่เหลือ (0 ถ้านับครบแล้ว)
      */
     public int getMovesToWin() {
-        // คำนวณจำนวนหมากของแต่ละฝ่าย
-        int whitePieces = countPieces(true);
-        int blackPieces = countPieces(false);
-        
-        // ถ้าจำนวนหมากเท่ากัน ให้เสมอ
-        if (whitePieces == blackPieces) {
-            return 0;
+        return Math.max(0, getCountLimit(board.getPosition()) - board.getMovesSinceCapture());
+    }
+    
+    /**
+     * ตรวจสอบว่าตำแหน่งที่กำหนดใช้การนับศักดิ์หมากหรือไม่ (ฝ่ายหนึ่งเหลือขุนตัวเดียว อีกฝ่ายยังมีหมากอื่น)
+     * @param position ตำแหน่งหมาก
+     * @return true ถ้าใช้การนับศักดิ์หมาก, false ถ้าใช้การนับศักดิ์กระดาน
+     */
+    public static boolean isPiecesHonour(BitboardPosition position) {
+        boolean whiteBare = Long.bitCount(position.getOccupancy(true)) == 1;
+        boolean blackBare = Long.bitCount(position.getOccupancy(false)) == 1;
+        return whiteBare != blackBare;
+    }
+    
+    /**
+     * คำนวณจำนวนตาที่ไม่มีการกินหมากที่ทำให้นับครบ (เสมอ) ในตำแหน่งที่กำหนด
+     * ถ้าฝ่ายหนึ่งเหลือขุนตัวเดียว ใช้การนับศักดิ์หมากตามหมากของอีกฝ่าย
+     * (เรือสองลำ 8, เรือลำเดียว 16, โคนสองตัว 22, ม้าสองตัว 32, โคนตัวเดียว 44, นอกนั้น 64)
+     * ซึ่งเริ่มนับต่อจากจำนวนหมากบนกระดาน จึงเหลือศักดิ์หมากลบจำนวนหมาก (อย่างน้อย 1 ตา)
+     * นอกนั้นใช้การนับศักดิ์กระดาน 64 ตา ทั้งสองแบบนับเป็นตาเดียวกับ Board.getMovesSinceCapture
+     * เรียกได้ทุกโหนดของการค้นหา (ไม่สร้างออบเจ็กต์)
+     * @param position ตำแหน่งหมาก
+     * @return จำนวนตาที่ไม่มีการกินหมากที่ทำให้นับครบ
+     */
+    public static int getCountLimit(BitboardPosition position) {
+        if (!isPiecesHonour(position)) {
+            return BOARD_HONOUR_LIMIT;
         }
         
-        // ฝ่ายที่มีหมากมากกว่าต้องชนะภายในจำนวนตาที่กำหนด
-        boolean whiteHasMore = whitePieces > blackPieces;
-        int difference = Math.abs(whitePieces - blackPieces);
-        
-        // กำหนดจำนวนตาตามความแตกต่างของหมาก
-        if (difference == 1) {
-            return 64; // ถ้ามีหมากมากกว่า 1 ตัว ต้องชนะภายใน 64 ตา
-        } else if (difference == 2) {
-            return 32; // ถ้ามีหมากมากกว่า 2 ตัว ต้องชนะภายใน 32 ตา
-        } else {
-            return 16; // ถ้ามีหมากมากกว่า 3 ตัวขึ้นไป ต้องชนะภายใน 16 ตา
+        boolean whiteHunts = Long.bitCount(position.getOccupancy(false)) == 1;
+        int honour = getPiecesHonour(position, whiteHunts);
+        return Math.max(1, honour - Long.bitCount(position.getOccupied()));
+    }
+    
+    /**
+     * คำนวณศักดิ์หมากของฝ่ายที่ไล่ต้อนขุนตัวเดียว ตามหมากที่แรงที่สุดที่เหลืออยู่
+     * @param position ตำแหน่งหมาก
+     * @param isWhite true ถ้าฝ่ายที่ไล่เป็นฝ่ายขาว
+     * @return ศักดิ์หมาก
+     */
+    private static int getPiecesHonour(BitboardPosition position, boolean isWhite) {
+        int ruea = Long.bitCount(position.getPieces(isWhite, BitboardPosition.RUEA));
+        int khon = Long.bitCount(position.getPieces(isWhite, BitboardPosition.KHON));
+        int ma = Long.bitCount(position.getPieces(isWhite, BitboardPosition.MA));
+        if (ruea >= 2) {
+            return 8;
+        } else if (ruea == 1) {
+            return 16;
+        } else if (khon >= 2) {
+            return 22;
+        } else if (ma >= 2) {
+            return 32;
+        } else if (khon == 1) {
+            return 44;
         }
+        return 64;
     }
     
     /**
@@ -58,40 +97,24 @@ public class CountingRules {
      * @return จำนวนหมากของฝ่ายที่กำหนด
      */
     private int countPieces(boolean isWhite) {
-        int count = 0;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board.getPiece(i, j) != null && board.getPiece(i, j).isWhite() == isWhite) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return Long.bitCount(board.getPosition().getOccupancy(isWhite));
     }
     
     /**
-     * ตรวจสอบว่าฝ่ายที่มีหมากมากกว่าชนะหรือไม่
-     * @return true ถ้าฝ่ายที่มีหมากมากกว่าชนะ, false ถ้าไม่ชนะ
+     * ตรวจสอบว่าฝ่ายที่มีหมากมากกว่าชนะภายในการนับหรือไม่
+     * ฝ่ายที่มีหมากมากกว่าชนะได้ด้วยการจนอีกฝ่ายภายในจำนวนตาของ getCountLimit เท่านั้น
+     * ถ้านับครบโดยยังไม่จน ถือว่าเสมอ
+     * @return true ถ้าฝ่ายที่จะเดินมีหมากน้อยกว่าและถูกจนก่อนหรือในตาที่นับครบพอดี, false ถ้าไม่ใช่
      */
     public boolean hasStrongerSideWon() {
-        // ถ้ายังไม่ถึงกฎการนับครบ ให้ยังไม่มีฝ่ายใดชนะ
-        if (!isCountingRuleApplied()) {
+        // ฝ่ายที่ถูกจนคือฝ่ายที่จะเดิน ต้องเป็นฝ่ายที่มีหมากน้อยกว่า
+        boolean loserIsWhite = board.isWhiteTurn();
+        if (countPieces(loserIsWhite) >= countPieces(!loserIsWhite)) {
             return false;
         }
         
-        // คำนวณจำนวนหมากของแต่ละฝ่าย
-        int whitePieces = countPieces(true);
-        int blackPieces = countPieces(false);
-        
-        // ถ้าจำนวนหมากเท่ากัน ให้เสมอ
-        if (whitePieces == blackPieces) {
-            return false;
-        }
-        
-        // ฝ่ายที่มีหมากมากกว่าต้องชนะภายในจำนวนตาที่กำหนด
-        int movesToWin = getMovesToWin();
-        
-        // ถ้าเกินจำนวนตาที่กำหนด ให้ฝ่ายที่มีหมากมากกว่าแพ้
-        return board.getMovesSinceCapture() <= movesToWin;
+        // จนได้ภายในจำนวนตาที่นับ (เกินจากนั้นเกมจบเสมอไปแล้ว)
+        return board.getMovesSinceCapture() <= getCountLimit(board.getPosition())
+               && new CheckDetector(board).isCheckmate(loserIsWhite);
     }
 }
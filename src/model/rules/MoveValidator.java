@@ -4,13 +4,17 @@ import java.util.ArrayList;
 import java.util.List;
 import model.Board;
 import model.Move;
-import model.Piece;
+import model.bitboard.BitboardPosition;
+import model.bitboard.LegalMoveGenerator;
+import model.bitboard.MoveEncoding;
+import model.bitboard.MoveList;
 
 /**
  * คลาสสำหรับตรวจสอบความถูกต้องของการเคลื่อนที่ในหมากรุกไทย
  */
 public class MoveValidator {
     private Board board;
+    private MoveList candidates; // บัฟเฟอร์สำหรับการเคลื่อนที่ของหมากตัวเดียว
     
     /**
      * สร้าง MoveValidator ใหม่
@@ -18,6 +22,7 @@ public class MoveValidator {
      */
     public MoveValidator(Board board) {
         this.board = board;
+        this.candidates = new MoveList();
     }
     
     /**
@@ -33,96 +38,38 @@ public class MoveValidator {
         }
         
         // ตรวจสอบว่ามีหมากที่ตำแหน่งเริ่มต้น
-        Piece piece = board.getPiece(move.fromRow, move.fromCol);
-        if (piece == null) {
+        BitboardPosition position = board.getPosition();
+        int from = BitboardPosition.square(move.fromRow, move.fromCol);
+        if (position.isEmpty(from)) {
             return false;
         }
         
         // ตรวจสอบว่าเป็นตาของฝ่ายที่ถูกต้อง
-        if (piece.isWhite() != board.isWhiteTurn()) {
+        if (position.isWhite(from) != board.isWhiteTurn()) {
             return false;
         }
         
         // ตรวจสอบว่าการเคลื่อนที่อยู่ในรายการการเคลื่อนที่ที่ถูกต้องของหมาก
-        List<Move> legalMoves = piece.getLegalMoves(board);
-        for (Move legalMove : legalMoves) {
-            if (legalMove.fromRow == move.fromRow && 
-                legalMove.fromCol == move.fromCol && 
-                legalMove.toRow == move.toRow && 
-                legalMove.toCol == move.toCol) {
-                
-                // ตรวจสอบว่าการเคลื่อนที่ไม่ทำให้ขุนของตัวเองถูกรุก
-                if (!wouldKingBeInCheck(move)) {
-                    return true;
-                }
+        int to = BitboardPosition.square(move.toRow, move.toCol);
+        candidates.clear();
+        LegalMoveGenerator.generate(position, board.isWhiteTurn(), 1L << from, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (MoveEncoding.to(candidates.get(i)) == to) {
+                return true;
             }
         }
         
         return false;
     }
     
-    /**
-     * ตรวจสอบว่าการเคลื่อนที่จะทำให้ขุนของตัวเองถูกรุกหรือไม่
-     * @param move การเคลื่อนที่ที่จะตรวจสอบ
-     * @return true ถ้าการเคลื่อนที่จะทำให้ขุนของตัวเองถูกรุก, false ถ้าไม่ทำให้ถูกรุก
-     */
-    private boolean wouldKingBeInCheck(Move move) {
-        // จำลองการเคลื่อนที่
-        Piece piece = board.getPiece(move.fromRow, move.fromCol);
-        Piece capturedPiece = board.getPiece(move.toRow, move.toCol);
-        
-        // ทำการเคลื่อนที่ชั่วคราว
-        board.getPiece(move.fromRow, move.fromCol).setPosition(move.toRow, move.toCol);
-        board.setPiece(move.toRow, move.toCol, piece);
-        board.setPiece(move.fromRow, move.fromCol, null);
-        
-        // ตรวจสอบว่าขุนของตัวเองถูกรุกหรือไม่
-        boolean kingInCheck = isKingInCheck(piece.isWhite());
-        
-        // ย้อนกลับการเคลื่อนที่
-        board.getPiece(move.toRow, move.toCol).setPosition(move.fromRow, move.fromCol);
-        board.setPiece(move.fromRow, move.fromCol, piece);
-        board.setPiece(move.toRow, move.toCol, capturedPiece);
-        
-        return kingInCheck;
-    }
-    
     /**
      * ตรวจสอบว่าขุนของฝ่ายที่กำหนดถูกรุกหรือไม่
      * @param isWhiteKing true ถ้าเป็นขุนขาว, false ถ้าเป็นขุนดำ
      * @return true ถ้าขุนถูกรุก, false ถ้าไม่ถูกรุก
      */
     public boolean isKingInCheck(boolean isWhiteKing) {
-        // หาตำแหน่งของขุน
-        int kingRow = -1, kingCol = -1;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = board.getPiece(i, j);
-                if (piece != null && piece instanceof model.pieces.King && piece.isWhite() == isWhiteKing) {
-                    kingRow = i;
-                    kingCol = j;
-                    break;
-                }
-            }
-            if (kingRow != -1) break;
-        }
-        
-        // ตรวจสอบว่ามีหมากของฝ่ายตรงข้ามที่สามารถเคลื่อนที่มาที่ตำแหน่งของขุนได้หรือไม่
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = board.getPiece(i, j);
-                if (piece != null && piece.isWhite() != isWhiteKing) {
-                    List<Move> moves = piece.getLegalMoves(board);
-                    for (Move move : moves) {
-                        if (move.toRow == kingRow && move.toCol == kingCol) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        
-        return false;
+        // ใช้ช่องของขุนที่ติดตามไว้ แล้วตรวจย้อนกลับจากช่องนั้นด้วยตารางการโจมตี
+        return board.getPosition().isInCheck(isWhiteKing);
     }
     
     /**
@@ -134,18 +81,30 @@ public class MoveValidator {
     public List<Move> getLegalMoves(int row, int col) {
         List<Move> legalMoves = new ArrayList<>();
         
-        Piece piece = board.getPiece(row, col);
-        if (piece == null || piece.isWhite() != board.isWhiteTurn()) {
+        if (!board.isValidPosition(row, col)) {
+            return legalMoves;
+        }
+        BitboardPosition position = board.getPosition();
+        int from = BitboardPosition.square(row, col);
+        if (position.isEmpty(from) || position.isWhite(from) != board.isWhiteTurn()) {
             return legalMoves;
         }
         
-        List<Move> candidateMoves = piece.getLegalMoves(board);
-        for (Move move : candidateMoves) {
-            if (!wouldKingBeInCheck(move)) {
-                legalMoves.add(move);
-            }
+        candidates.clear();
+        LegalMoveGenerator.generate(position, board.isWhiteTurn(), 1L << from, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            legalMoves.add(Move.fromEncoded(candidates.get(i)));
         }
         
         return legalMoves;
     }
+    
+    /**
+     * สร้างการเคลื่อนที่ที่ถูกต้องทั้งหมดของฝ่ายปัจจุบันแบบ int ลงในรายการที่กำหนด
+     * @param list รายการที่จะเขียนการเคลื่อนที่ลงไป (จะถูกล้างก่อน)
+     */
+    public void generateLegalMoves(MoveList list) {
+        list.clear();
+        LegalMoveGenerator.generate(board.getPosition(), board.isWhiteTurn(), list);
+    }
 }
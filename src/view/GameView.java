@@ -6,6 +6,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -241,8 +242,10 @@ public class GameView extends JFrame implements GameListener {
         
         // เพิ่มตัวจัดการเหตุการณ์ปุ่มย้อนกลับ
         undoButton.addActionListener(e -> {
-            // ย้อนกลับการเคลื่อนที่ของผู้เล่นและ AI
-            controller.undoMove();
+            // ย้อนกลับการเคลื่อนที่ของผู้เล่นและ AI (ถ้า AI ยังคิดอยู่ ยกเลิกแล้วย้อนกลับเฉพาะของผู้เล่น)
+            if (!controller.cancelAIMove()) {
+                controller.undoMove();
+            }
             controller.undoMove();
             selectedRow = -1;
             selectedCol = -1;
@@ -277,6 +280,23 @@ public class GameView extends JFrame implements GameListener {
         });
     }
     
+    /**
+     * แจ้งผู้เล่นเมื่อ AI คิดไม่สำเร็จ แล้วย้อนการเคลื่อนที่ล่าสุดของผู้เล่น ให้กลับมาเป็นตาของผู้เล่นอีกครั้ง
+     * (เรียกบน EDT)
+     * @param error ข้อผิดพลาดของการค้นหา
+     */
+    private void handleAIFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        controller.undoMove();
+        selectedRow = -1;
+        selectedCol = -1;
+        legalMoves = null;
+        updateStatus();
+        boardPanel.repaint();
+        JOptionPane.showMessageDialog(this, "คอมพิวเตอร์คิดไม่สำเร็จ: " + cause,
+                                      "ข้อผิดพลาด", JOptionPane.ERROR_MESSAGE);
+    }
+    
     /**
      * จัดการเหตุการณ์คลิกกระดาน
      * @param x พิกัด x
@@ -339,9 +359,11 @@ public class GameView extends JFrame implements GameListener {
                     
                     // ตรวจสอบว่าเกมจบหรือไม่
                     if (!board.isGameOver()) {
-                        // ให้ AI เคลื่อนที่
-                        SwingUtilities.invokeLater(() -> {
-                            controller.makeAIMove();
+                        // ให้ AI เคลื่อนที่ (คิดในเธรดของ AI แล้วเดินบน EDT เมื่อคิดเสร็จ)
+                        controller.makeAIMove().whenComplete((moved, error) -> {
+                            if (error != null) {
+                                handleAIFailure(error);
+                            }
                         });
                     }
                 }
@@ -457,7 +479,7 @@ public class GameView extends JFrame implements GameListener {
         }
         
         // อัปเดตป้ายการนับ
-        countingLabel.setText("การนับ: " + board.getMovesSinceCapture() + "/64");
+        countingLabel.setText("การนับ: " + board.getMovesSinceCapture() + "/" + board.getCountLimit());
         
         // อัปเดตป้ายสถานะ
         if (board.isGameOver()) {